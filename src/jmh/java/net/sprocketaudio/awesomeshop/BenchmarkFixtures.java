@@ -0,0 +1,77 @@
+package net.sprocketaudio.awesomeshop;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.item.Items;
+
+// Shared setup for the benchmarks. Runs the vanilla bootstrap so items and data components exist, and builds
+// catalogs through the same parser the config uses.
+public final class BenchmarkFixtures {
+    public static final List<String> CATEGORIES = List.of("tools", "food", "blocks", "redstone", "misc");
+    public static final List<String> CURRENCIES = List.of("minecraft:emerald", "minecraft:gold_ingot",
+            "minecraft:diamond");
+
+    private static boolean bootstrapped;
+
+    private BenchmarkFixtures() {
+    }
+
+    public static synchronized void bootstrap() {
+        if (!bootstrapped) {
+            SharedConstants.tryDetectVersion();
+            Bootstrap.bootStrap();
+            bootstrapped = true;
+        }
+    }
+
+    public static RegistryAccess registryAccess() {
+        return RegistryAccess.fromRegistryOfRegistries(BuiltInRegistries.REGISTRY);
+    }
+
+    // Offer lines in the config format, cycling through every registered item and mixing one, two and three
+    // currency prices.
+    public static List<String> rawOffers(int count) {
+        List<ResourceLocation> items = new ArrayList<>();
+        for (ResourceLocation id : BuiltInRegistries.ITEM.keySet()) {
+            if (BuiltInRegistries.ITEM.get(id) != Items.AIR) {
+                items.add(id);
+            }
+        }
+
+        List<String> offers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder line = new StringBuilder()
+                    .append(items.get(i % items.size())).append('|')
+                    .append(CATEGORIES.get(i % CATEGORIES.size())).append('|');
+            int prices = 1 + (i % CURRENCIES.size());
+            for (int p = 0; p < prices; p++) {
+                if (p > 0) {
+                    line.append(',');
+                }
+                line.append(CURRENCIES.get(p)).append('=').append(1 + ((i + p) % 9));
+            }
+            offers.add(line.toString());
+        }
+        return offers;
+    }
+
+    public static CatalogSnapshot catalog(int offerCount) {
+        return compile(1, rawOffers(offerCount));
+    }
+
+    // Makes the catalog the one Config.getCatalog() returns, which is what block entities read their currencies from.
+    public static CatalogSnapshot install(CatalogSnapshot catalog) {
+        Config.installCatalog(catalog);
+        return catalog;
+    }
+
+    public static CatalogSnapshot compile(long version, List<String> rawOffers) {
+        return Config.compileCatalog(version, CATEGORIES, CURRENCIES, rawOffers, CurrencyTable.EMPTY);
+    }
+}
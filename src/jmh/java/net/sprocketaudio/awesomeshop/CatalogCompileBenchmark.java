@@ -0,0 +1,42 @@
+package net.sprocketaudio.awesomeshop;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Cost of turning the shopOffers config list into a catalog snapshot, as happens on every config load and reload.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogCompileBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int offerCount;
+
+    private List<String> rawOffers;
+    private long version;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        rawOffers = BenchmarkFixtures.rawOffers(offerCount);
+    }
+
+    @Benchmark
+    public CatalogSnapshot compileCatalog() {
+        return BenchmarkFixtures.compile(++version, rawOffers);
+    }
+}
@@ -0,0 +1,57 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+
+import net.sprocketaudio.awesomeshop.BenchmarkFixtures;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Worst case for ShopScreen after a balance sync: one max-affordable computation per offer in the catalog.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AffordabilityBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int offerCount;
+
+    private List<ConfiguredOffer> offers;
+    private IntToLongFunction balances;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        CatalogSnapshot catalog = BenchmarkFixtures.catalog(offerCount);
+        CurrencyTable table = catalog.currencyTable();
+        long[] amounts = new long[table.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = 1_000L * (i + 1);
+        }
+        offers = catalog.offers();
+        balances = ordinal -> amounts[ordinal];
+    }
+
+    @Benchmark
+    public void refreshAllOffers(Blackhole blackhole) {
+        for (int i = 0; i < offers.size(); i++) {
+            blackhole.consume(ShopMenu.maxAffordable(offers.get(i), balances));
+        }
+    }
+}
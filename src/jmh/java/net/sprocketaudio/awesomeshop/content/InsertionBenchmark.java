@@ -0,0 +1,82 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.entity.BlockEntityType;
+import net.neoforged.neoforge.items.IItemHandler;
+import net.sprocketaudio.awesomeshop.BenchmarkFixtures;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// A real ShopBlockEntity fed the way a hopper and a pipe feed it: getSlotsForFace, canPlaceItemThroughFace,
+// canPlaceItem and setItem for the hopper, ShopItemHandler.insertItem for the pipe. The shop has no level, so the
+// journal write every deposit makes in a world is not included; the end-of-tick setChanged is not either.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertionBenchmark {
+    private CurrencyTable table;
+    private ShopBlockEntity shop;
+    private IItemHandler handler;
+    private ItemStack currency;
+    private ItemStack rejected;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        table = BenchmarkFixtures.install(BenchmarkFixtures.catalog(100)).currencyTable();
+        shop = new ShopBlockEntity(BlockEntityType.CHEST, BlockPos.ZERO, Blocks.CHEST.defaultBlockState());
+        handler = shop.getItemHandler(Direction.UP);
+        currency = new ItemStack(table.get(table.size() - 1).item());
+        rejected = new ItemStack(Items.BEDROCK);
+    }
+
+    // HopperBlockEntity.addItem against a WorldlyContainer: the first slot that takes the stack gets it, and a stack
+    // nothing takes is offered to every slot.
+    @Benchmark
+    public void hopperInsert(Blackhole blackhole) {
+        blackhole.consume(hopperOffer(rejected));
+        blackhole.consume(hopperOffer(currency));
+    }
+
+    private boolean hopperOffer(ItemStack stack) {
+        for (int slot : shop.getSlotsForFace(Direction.UP)) {
+            if (shop.canPlaceItem(slot, stack) && shop.canPlaceItemThroughFace(slot, stack, Direction.UP)
+                    && shop.getItem(slot).isEmpty()) {
+                shop.setItem(slot, stack);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public void handlerInsert(Blackhole blackhole) {
+        blackhole.consume(handler.insertItem(0, rejected, false));
+        blackhole.consume(handler.insertItem(0, currency, true));
+        blackhole.consume(handler.insertItem(0, currency, false));
+    }
+
+    @Benchmark
+    public int slotLookup() {
+        return table.slotOf(currency.getItem()) + table.slotOf(rejected.getItem());
+    }
+}
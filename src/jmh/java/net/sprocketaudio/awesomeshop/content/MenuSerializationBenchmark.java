@@ -0,0 +1,73 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.sprocketaudio.awesomeshop.BenchmarkFixtures;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.network.CatalogCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Opening a shop: the menu open data every client receives, and the full catalog encode/decode a client with a
+// cold cache pays for. The catalog version is bumped per call in the cold case so the encoder cache never hits.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MenuSerializationBenchmark {
+    private static final BlockPos POS = new BlockPos(120, 64, -340);
+
+    @Param({"100", "1000", "10000"})
+    public int offerCount;
+
+    private RegistryAccess registryAccess;
+    private CatalogSnapshot catalog;
+    private RegistryFriendlyByteBuf buffer;
+    private long version;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        registryAccess = BenchmarkFixtures.registryAccess();
+        catalog = BenchmarkFixtures.catalog(offerCount);
+        buffer = new RegistryFriendlyByteBuf(Unpooled.buffer(), registryAccess);
+        version = catalog.version();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public long screenDataRoundTrip() {
+        buffer.clear();
+        ShopMenu.writeScreenData(POS, catalog, buffer);
+        return ShopMenu.readScreenData(buffer).catalogHash();
+    }
+
+    @Benchmark
+    public CatalogSnapshot coldCatalogRoundTrip() throws IOException {
+        CatalogSnapshot fresh = catalog.withVersion(++version);
+        CatalogCodec.EncodedCatalog encoded = CatalogCodec.encode(fresh, registryAccess);
+        return CatalogCodec.decode(encoded.data(), encoded.hash(), encoded.version(), registryAccess);
+    }
+}
@@ -0,0 +1,63 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import net.minecraft.world.item.ItemStack;
+import net.sprocketaudio.awesomeshop.BenchmarkFixtures;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// The pricing and debit half of ShopBlockEntity.tryPurchase/tryCheckout. Delivery needs a live player and level, so
+// it is left to the GameTests.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PurchaseBenchmark {
+    @Param({"1", "8", "64"})
+    public int lines;
+
+    private CurrencyLedger ledger;
+    private List<ConfiguredOffer> cart;
+    private long[] quantities;
+    private final List<ItemStack> deliveries = new ArrayList<>();
+    private long[] deliveryCounts;
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.bootstrap();
+        CatalogSnapshot catalog = BenchmarkFixtures.catalog(1000);
+        ledger = new CurrencyLedger(catalog.currencyTable());
+        for (int i = 0; i < catalog.currencyTable().size(); i++) {
+            ledger.deposit(i, Long.MAX_VALUE / 2);
+        }
+        cart = new ArrayList<>(lines);
+        quantities = new long[lines];
+        for (int i = 0; i < lines; i++) {
+            cart.add(catalog.offers().get((i * 37) % catalog.offers().size()));
+            quantities[i] = 1 + (i % 16);
+        }
+        deliveryCounts = new long[lines];
+    }
+
+    @Benchmark
+    public PurchaseStatus debit() {
+        deliveries.clear();
+        return ShopBlockEntity.debit(ledger, cart, quantities, deliveries, deliveryCounts);
+    }
+}
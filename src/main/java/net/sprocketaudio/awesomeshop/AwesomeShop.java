@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 
 import com.mojang.logging.LogUtils;
 
+import net.minecraft.core.component.DataComponentType;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.CreativeModeTabs;
@@ -13,6 +14,7 @@ import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockBehaviour;
 import net.minecraft.world.level.material.MapColor;
 import net.minecraft.world.inventory.MenuType;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.ModContainer;
@@ -31,9 +33,17 @@ import net.neoforged.neoforge.registries.DeferredRegister;
 import net.neoforged.neoforge.common.extensions.IMenuTypeExtension;
 import net.neoforged.neoforge.network.IContainerFactory;
 import net.sprocketaudio.awesomeshop.client.AwesomeShopClient;
+import net.sprocketaudio.awesomeshop.content.CurrencyPalette;
+import net.sprocketaudio.awesomeshop.content.CurrencyVaultItem;
+import net.sprocketaudio.awesomeshop.content.PurchaseRateLimiter;
 import net.sprocketaudio.awesomeshop.content.ShopBlock;
 import net.sprocketaudio.awesomeshop.content.ShopBlockEntity;
+import net.sprocketaudio.awesomeshop.content.ShopDirtyTracker;
+import net.sprocketaudio.awesomeshop.content.ShopLedgerContents;
 import net.sprocketaudio.awesomeshop.content.ShopMenu;
+import net.sprocketaudio.awesomeshop.content.ShopProfiler;
+import net.sprocketaudio.awesomeshop.journal.TransactionJournal;
+import net.sprocketaudio.awesomeshop.network.ShopNetwork;
 
 // The value here should match an entry in the META-INF/neoforge.mods.toml file
 @Mod(AwesomeShop.MOD_ID)
@@ -47,12 +57,20 @@ public class AwesomeShop {
     public static final DeferredRegister.Items ITEMS = DeferredRegister.createItems(MOD_ID);
     public static final DeferredRegister<BlockEntityType<?>> BLOCK_ENTITY_TYPES = DeferredRegister.create(Registries.BLOCK_ENTITY_TYPE, MOD_ID);
     public static final DeferredRegister<MenuType<?>> MENUS = DeferredRegister.create(Registries.MENU, MOD_ID);
+    public static final DeferredRegister.DataComponents DATA_COMPONENTS = DeferredRegister.createDataComponents(Registries.DATA_COMPONENT_TYPE, MOD_ID);
+
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<ShopLedgerContents>> SHOP_LEDGER = DATA_COMPONENTS
+            .registerComponentType("shop_ledger", builder -> builder.persistent(ShopLedgerContents.CODEC)
+                    .networkSynchronized(ShopLedgerContents.STREAM_CODEC));
 
     public static final DeferredBlock<Block> SHOP_BLOCK = BLOCKS.register("shop_block",
             () -> new ShopBlock(BlockBehaviour.Properties.of().mapColor(MapColor.METAL).strength(3.5F).requiresCorrectToolForDrops()));
 
     public static final DeferredItem<BlockItem> SHOP_BLOCK_ITEM = ITEMS.registerSimpleBlockItem("shop_block", SHOP_BLOCK);
 
+    public static final DeferredItem<CurrencyVaultItem> CURRENCY_VAULT = ITEMS.registerItem("currency_vault",
+            CurrencyVaultItem::new, new Item.Properties().stacksTo(1));
+
     public static final DeferredHolder<BlockEntityType<?>, BlockEntityType<ShopBlockEntity>> SHOP_BLOCK_ENTITY = BLOCK_ENTITY_TYPES
             .register("shop_block", () -> BlockEntityType.Builder.of(ShopBlockEntity::new, SHOP_BLOCK.get()).build(null));
 
@@ -67,6 +85,7 @@ public class AwesomeShop {
 
         BLOCKS.register(modEventBus);
         ITEMS.register(modEventBus);
+        DATA_COMPONENTS.register(modEventBus);
         BLOCK_ENTITY_TYPES.register(modEventBus);
         MENUS.register(modEventBus);
 
@@ -74,6 +93,17 @@ public class AwesomeShop {
         // Note that this is necessary if and only if we want *this* class (ExampleMod) to respond directly to events.
         // Do not add this line if there are no @SubscribeEvent-annotated functions in this class, like onServerStarting() below
         NeoForge.EVENT_BUS.register(this);
+        NeoForge.EVENT_BUS.addListener(ShopDirtyTracker::onServerTick);
+        NeoForge.EVENT_BUS.addListener(ShopDirtyTracker::onServerStopping);
+        NeoForge.EVENT_BUS.addListener(PurchaseRateLimiter::onServerTick);
+        NeoForge.EVENT_BUS.addListener(PurchaseRateLimiter::onServerStopping);
+        NeoForge.EVENT_BUS.addListener(ShopProfiler::onServerTick);
+        NeoForge.EVENT_BUS.addListener(TransactionJournal::onServerStarted);
+        NeoForge.EVENT_BUS.addListener(TransactionJournal::onServerStopped);
+        NeoForge.EVENT_BUS.addListener(CurrencyPalette::onServerStarted);
+        NeoForge.EVENT_BUS.addListener(ShopBlockEntity::onChunkSave);
+        NeoForge.EVENT_BUS.addListener(EventPriority.LOWEST, true, ShopBlockEntity::onBlockDrops);
+        NeoForge.EVENT_BUS.addListener(ShopCommands::register);
 
         // Register the item to a creative tab
         modEventBus.addListener(this::addCreative);
@@ -81,10 +111,14 @@ public class AwesomeShop {
         // Register our mod's ModConfigSpec so that FML can create and load the server-side config file for us
         modContainer.registerConfig(ModConfig.Type.SERVER, Config.SPEC, "awesomeshop/awesomeshop-server.toml");
         modContainer.registerConfig(ModConfig.Type.CLIENT, ShopStyleConfig.SPEC, "awesomeshop/appearance-client.toml");
+        modEventBus.addListener(Config::onLoad);
+        modEventBus.addListener(Config::onReload);
 
         modEventBus.addListener(AwesomeShopClient::registerScreens);
+        modEventBus.addListener(AwesomeShopClient::registerReloadListeners);
 
         modEventBus.addListener(this::registerCapabilities);
+        modEventBus.addListener(ShopNetwork::register);
     }
 
     private void commonSetup(FMLCommonSetupEvent event) {
@@ -0,0 +1,140 @@
+package net.sprocketaudio.awesomeshop;
+
+import java.util.List;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+
+// Immutable view of the parsed shop configuration. A new snapshot is compiled whenever the server config is
+// loaded or reloaded, and the version only ever increases so holders can cheaply detect a swap.
+public final class CatalogSnapshot {
+    public static final CatalogSnapshot EMPTY = new CatalogSnapshot(0L, List.of(), CurrencyTable.EMPTY, List.of());
+    private static final int[] EMPTY_INDICES = new int[0];
+
+    private final long version;
+    private final List<String> categories;
+    private final CurrencyTable currencyTable;
+    private final List<ConfiguredOffer> offers;
+    private final int[][] offersByCurrency;
+    private final Object2IntOpenHashMap<String> categoryOrdinals;
+    private final int[] offerCategories;
+    private final int[][] offersByCategory;
+
+    public CatalogSnapshot(long version, List<String> categories, List<ConfiguredCurrency> currencies,
+            List<ConfiguredOffer> offers) {
+        this(version, categories, new CurrencyTable(currencies), offers);
+    }
+
+    public CatalogSnapshot(long version, List<String> categories, CurrencyTable currencyTable,
+            List<ConfiguredOffer> offers) {
+        this.version = version;
+        this.categories = List.copyOf(categories);
+        this.currencyTable = currencyTable;
+        this.offers = List.copyOf(offers);
+        this.offersByCurrency = indexOffersByCurrency(currencyTable, this.offers);
+        this.categoryOrdinals = new Object2IntOpenHashMap<>(this.categories.size());
+        this.categoryOrdinals.defaultReturnValue(-1);
+        for (int i = 0; i < this.categories.size(); i++) {
+            this.categoryOrdinals.putIfAbsent(this.categories.get(i), i);
+        }
+        this.offerCategories = new int[this.offers.size()];
+        for (int i = 0; i < offerCategories.length; i++) {
+            offerCategories[i] = categoryOrdinals.getInt(this.offers.get(i).category());
+        }
+        this.offersByCategory = indexOffersByCategory(this.categories.size(), offerCategories);
+    }
+
+    private static int[][] indexOffersByCategory(int categoryCount, int[] offerCategories) {
+        int[] counts = new int[categoryCount];
+        for (int category : offerCategories) {
+            if (category >= 0) {
+                counts[category]++;
+            }
+        }
+        int[][] index = new int[categoryCount][];
+        for (int i = 0; i < categoryCount; i++) {
+            index[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int offer = 0; offer < offerCategories.length; offer++) {
+            int category = offerCategories[offer];
+            if (category >= 0) {
+                index[category][counts[category]++] = offer;
+            }
+        }
+        return index;
+    }
+
+    private static int[][] indexOffersByCurrency(CurrencyTable currencyTable, List<ConfiguredOffer> offers) {
+        IntArrayList[] lists = new IntArrayList[currencyTable.size()];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = new IntArrayList();
+        }
+        for (int offer = 0; offer < offers.size(); offer++) {
+            ConfiguredOffer configured = offers.get(offer);
+            boolean sameTable = configured.currencyTable() == currencyTable;
+            for (int ordinal : configured.priceOrdinals()) {
+                int index = sameTable ? ordinal : currencyTable.indexOf(configured.currencyTable().get(ordinal).id());
+                if (index >= 0) {
+                    lists[index].add(offer);
+                }
+            }
+        }
+        int[][] index = new int[lists.length][];
+        for (int i = 0; i < lists.length; i++) {
+            index[i] = lists[i].toIntArray();
+        }
+        return index;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<String> categories() {
+        return categories;
+    }
+
+    public List<ConfiguredCurrency> currencies() {
+        return currencyTable.currencies();
+    }
+
+    public CurrencyTable currencyTable() {
+        return currencyTable;
+    }
+
+    public List<ConfiguredOffer> offers() {
+        return offers;
+    }
+
+    // Indices of the offers priced in the given currency, in catalog order. The returned array is shared and must
+    // not be modified.
+    public int[] offersUsingCurrency(int ordinal) {
+        return ordinal >= 0 && ordinal < offersByCurrency.length ? offersByCurrency[ordinal] : EMPTY_INDICES;
+    }
+
+    // Position of the category in categories(), or -1 if it is not listed.
+    public int categoryOrdinal(String category) {
+        return categoryOrdinals.getInt(category);
+    }
+
+    public int offerCategory(int offer) {
+        return offer >= 0 && offer < offerCategories.length ? offerCategories[offer] : -1;
+    }
+
+    // Indices of the offers in the given category, in catalog order. The returned array is shared and must not be
+    // modified.
+    public int[] offersInCategory(int ordinal) {
+        return ordinal >= 0 && ordinal < offersByCategory.length ? offersByCategory[ordinal] : EMPTY_INDICES;
+    }
+
+    public CatalogSnapshot withVersion(long newVersion) {
+        return newVersion == version ? this : new CatalogSnapshot(newVersion, categories, currencyTable, offers);
+    }
+
+    public boolean hasOffers() {
+        return !offers.isEmpty();
+    }
+}
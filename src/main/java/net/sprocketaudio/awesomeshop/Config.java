@@ -1,12 +1,15 @@
 package net.sprocketaudio.awesomeshop;
 
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceLocation;
@@ -14,8 +17,10 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.Items;
+import net.neoforged.fml.event.config.ModConfigEvent;
 import net.neoforged.neoforge.common.ModConfigSpec;
 import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.content.CurrencyPalette;
 
 // An example config class. This is not required, but it's a good idea to have one to keep your config organized.
 // Demonstrates how to use Neo's config APIs
@@ -49,8 +54,40 @@ public class Config {
                     () -> "",
                     Config::validateOffer);
 
+    public static final ModConfigSpec.IntValue MAX_PURCHASE_QUANTITY = BUILDER
+            .comment("Largest quantity of a single offer that can be bought in one purchase request.")
+            .defineInRange("maxPurchaseQuantity", 10000, 1, 1_000_000);
+
+    public static final ModConfigSpec.IntValue PLAYER_PURCHASES_PER_SECOND = BUILDER
+            .comment("Sustained purchase requests per second allowed for each player.")
+            .defineInRange("playerPurchasesPerSecond", 10, 1, 1000);
+
+    public static final ModConfigSpec.IntValue PLAYER_PURCHASE_BURST = BUILDER
+            .comment("Purchase requests a player may send in a burst before the per-second limit applies.")
+            .defineInRange("playerPurchaseBurst", 20, 1, 1000);
+
+    public static final ModConfigSpec.IntValue SHOP_PURCHASES_PER_SECOND = BUILDER
+            .comment("Sustained purchase requests per second allowed for each shop block, across all players.")
+            .defineInRange("shopPurchasesPerSecond", 40, 1, 1000);
+
+    public static final ModConfigSpec.IntValue SHOP_PURCHASE_BURST = BUILDER
+            .comment("Purchase requests a shop block may receive in a burst before the per-second limit applies.")
+            .defineInRange("shopPurchaseBurst", 80, 1, 1000);
+
+    public static final ModConfigSpec.BooleanValue JOURNAL_ENABLED = BUILDER
+            .comment("Record every purchase and currency deposit in an append-only journal under the world's",
+                    "awesomeshop/journal directory.")
+            .define("journalEnabled", true);
+
+    public static final ModConfigSpec.IntValue JOURNAL_SEGMENT_SIZE_KB = BUILDER
+            .comment("Size in kilobytes after which the journal starts a new segment file.")
+            .defineInRange("journalSegmentSizeKb", 8192, 64, 1024 * 1024);
+
     static final ModConfigSpec SPEC = BUILDER.build();
 
+    private static final AtomicLong CATALOG_VERSION = new AtomicLong();
+    private static final AtomicReference<CatalogSnapshot> CATALOG = new AtomicReference<>(CatalogSnapshot.EMPTY);
+
     private static boolean validateCategoryName(final Object obj) {
         if (!(obj instanceof String category)) {
             return false;
@@ -66,8 +103,51 @@ public class Config {
         return parsed != null && BuiltInRegistries.ITEM.containsKey(parsed);
     }
 
-    public static List<ConfiguredCurrency> getConfiguredCurrencies() {
-        List<String> configuredEntries = limitEntries(CURRENCIES.get(), "currencies");
+    public static CatalogSnapshot getCatalog() {
+        return CATALOG.get();
+    }
+
+    // Lets the benchmarks run shop code against a catalog without a config file behind it.
+    static void installCatalog(CatalogSnapshot snapshot) {
+        CATALOG.set(snapshot);
+    }
+
+    static void onLoad(final ModConfigEvent.Loading event) {
+        if (event.getConfig().getSpec() == SPEC) {
+            rebuildCatalog();
+        }
+    }
+
+    static void onReload(final ModConfigEvent.Reloading event) {
+        if (event.getConfig().getSpec() == SPEC) {
+            rebuildCatalog();
+        }
+    }
+
+    private static void rebuildCatalog() {
+        CatalogSnapshot snapshot = compileCatalog(CATALOG_VERSION.incrementAndGet(), CATEGORIES.get(), CURRENCIES.get(),
+                SHOP_OFFERS.get(), CATALOG.get().currencyTable());
+        CATALOG.set(snapshot);
+        CurrencyPalette.onCatalogRebuilt(snapshot.currencyTable());
+        AwesomeShop.LOGGER.debug("Compiled shop catalog v{} with {} offers.", snapshot.version(),
+                snapshot.offers().size());
+    }
+
+    // Reuses the previous currency table when the currencies are unchanged, so ledgers do not have to rebind.
+    static CatalogSnapshot compileCatalog(long version, List<? extends String> rawCategories,
+            List<? extends String> rawCurrencies, List<? extends String> rawOffers, CurrencyTable previousTable) {
+        List<String> categories = parseCategories(rawCategories);
+        CurrencyTable currencyTable = previousTable;
+        List<ConfiguredCurrency> currencies = parseCurrencies(rawCurrencies);
+        if (!currencyTable.matches(currencies)) {
+            currencyTable = new CurrencyTable(currencies);
+        }
+        List<ConfiguredOffer> offers = parseOffers(rawOffers, categories, currencyTable);
+        return new CatalogSnapshot(version, categories, currencyTable, offers);
+    }
+
+    private static List<ConfiguredCurrency> parseCurrencies(List<? extends String> rawCurrencies) {
+        List<String> configuredEntries = limitEntries(rawCurrencies, "currencies");
         ArrayList<ConfiguredCurrency> currencies = configuredEntries.stream()
                 .map(Config::parseCurrency)
                 .flatMap(Optional::stream)
@@ -78,8 +158,8 @@ public class Config {
         return currencies;
     }
 
-    public static List<String> getConfiguredCategories() {
-        List<String> categories = CATEGORIES.get().stream()
+    private static List<String> parseCategories(List<? extends String> rawCategories) {
+        List<String> categories = rawCategories.stream()
                 .map(String::trim)
                 .filter(entry -> !entry.isEmpty())
                 .collect(Collectors.toCollection(ArrayList::new));
@@ -90,12 +170,11 @@ public class Config {
         return categories;
     }
 
-    public static List<ConfiguredOffer> getConfiguredOffers() {
-        List<String> categories = getConfiguredCategories();
-        List<ConfiguredCurrency> currencies = getConfiguredCurrencies();
-        Map<ResourceLocation, ConfiguredCurrency> currencyLookup = buildCurrencyLookup(currencies);
-        return SHOP_OFFERS.get().stream()
-                .map(raw -> parseOffer(raw, categories, currencyLookup))
+    private static List<ConfiguredOffer> parseOffers(List<? extends String> rawOffers, List<String> categories,
+            CurrencyTable currencyTable) {
+        Map<ResourceLocation, ConfiguredCurrency> currencyLookup = buildCurrencyLookup(currencyTable.currencies());
+        return rawOffers.stream()
+                .map(raw -> parseOffer(raw, categories, currencyLookup, currencyTable))
                 .flatMap(Optional::stream)
                 .collect(Collectors.toCollection(ArrayList::new));
     }
@@ -114,35 +193,74 @@ public class Config {
         return Component.literal(trimmed);
     }
 
-    public static Component purchaseSuccessMessage(ItemStack offer, int quantity) {
+    public static Component purchaseSuccessMessage(ItemStack offer, long quantity) {
         return Component.translatable("block.awesomeshop.shop_block.purchase", offer.getHoverName(), quantity);
     }
 
+    public static Component checkoutSuccessMessage(long quantity, int lines) {
+        return Component.translatable("block.awesomeshop.shop_block.checkout", quantity, lines);
+    }
+
+    public static Component checkoutFailureMessage() {
+        return Component.translatable("block.awesomeshop.shop_block.checkout_failed");
+    }
+
+    public static Component purchaseStaleMessage() {
+        return Component.translatable("block.awesomeshop.shop_block.stale");
+    }
+
+    public static Component purchaseRejectedMessage() {
+        return Component.translatable("block.awesomeshop.shop_block.rejected");
+    }
+
     public static Component purchaseFailureMessage(ItemStack offer, ConfiguredOffer configuredOffer) {
         return Component.translatable("block.awesomeshop.shop_block.failed", offer.getHoverName(),
                 formatPriceList(configuredOffer));
     }
 
-    public static Map<ConfiguredCurrency, Integer> aggregatePriceRequirements(List<PriceRequirement> prices) {
-        Map<ConfiguredCurrency, Integer> totals = new LinkedHashMap<>();
-        for (PriceRequirement price : prices) {
-            if (price.price() <= 0) {
-                continue;
-            }
-            totals.merge(price.currency(), price.price(), Integer::sum);
-        }
-        return Collections.unmodifiableMap(totals);
-    }
-
     public static class ConfiguredOffer {
+        private static final int[] NO_ORDINALS = new int[0];
+        private static final long[] NO_AMOUNTS = new long[0];
+
         private final ItemStack item;
         private final List<PriceRequirement> prices;
         private final String category;
-
-        public ConfiguredOffer(ItemStack item, List<PriceRequirement> prices, String category) {
+        private final CurrencyTable currencyTable;
+        private final int[] priceOrdinals;
+        private final long[] priceAmounts;
+
+        // The prices are also compiled into parallel ordinal and amount arrays against the currency table, with
+        // repeated currencies merged. An offer priced in a currency the table lacks, or at zero, gets empty arrays
+        // and cannot be bought.
+        public ConfiguredOffer(ItemStack item, List<PriceRequirement> prices, String category,
+                CurrencyTable currencyTable) {
             this.item = item;
             this.prices = List.copyOf(prices);
             this.category = category;
+            this.currencyTable = currencyTable;
+
+            int[] ordinals = new int[this.prices.size()];
+            long[] amounts = new long[this.prices.size()];
+            int count = 0;
+            boolean valid = !this.prices.isEmpty();
+            for (PriceRequirement price : this.prices) {
+                int ordinal = currencyTable.indexOf(price.currency().id());
+                if (ordinal < 0 || price.price() <= 0) {
+                    valid = false;
+                    break;
+                }
+                int existing = 0;
+                while (existing < count && ordinals[existing] != ordinal) {
+                    existing++;
+                }
+                if (existing == count) {
+                    ordinals[count] = ordinal;
+                    count++;
+                }
+                amounts[existing] += price.price();
+            }
+            this.priceOrdinals = valid ? Arrays.copyOf(ordinals, count) : NO_ORDINALS;
+            this.priceAmounts = valid ? Arrays.copyOf(amounts, count) : NO_AMOUNTS;
         }
 
         public ItemStack item() {
@@ -156,6 +274,23 @@ public class Config {
         public String category() {
             return category;
         }
+
+        public CurrencyTable currencyTable() {
+            return currencyTable;
+        }
+
+        // Ordinals into currencyTable(), parallel to priceAmounts(). Both arrays are shared and must not be modified.
+        public int[] priceOrdinals() {
+            return priceOrdinals;
+        }
+
+        public long[] priceAmounts() {
+            return priceAmounts;
+        }
+
+        public boolean hasValidPrice() {
+            return priceOrdinals.length > 0;
+        }
     }
 
     public record PriceRequirement(ConfiguredCurrency currency, int price) {
@@ -209,7 +344,7 @@ public class Config {
     }
 
     private static Optional<ConfiguredOffer> parseOffer(final String raw, List<String> categories,
-            Map<ResourceLocation, ConfiguredCurrency> currencyLookup) {
+            Map<ResourceLocation, ConfiguredCurrency> currencyLookup, CurrencyTable currencyTable) {
         Optional<OfferTokens> tokens = parseOfferTokens(raw);
         if (tokens.isEmpty()) {
             return Optional.empty();
@@ -230,7 +365,7 @@ public class Config {
 
         ItemStack stack = new ItemStack(BuiltInRegistries.ITEM.get(parsed.itemId()));
         String category = resolveCategory(parsed.category(), categories);
-        return Optional.of(new ConfiguredOffer(stack, requirements, category));
+        return Optional.of(new ConfiguredOffer(stack, requirements, category, currencyTable));
     }
 
     private static Optional<OfferTokens> parseOfferTokens(String raw) {
@@ -344,9 +479,12 @@ public class Config {
     }
 
     private static Component formatPriceList(ConfiguredOffer offer) {
-        return Component.literal(aggregatePriceRequirements(offer.prices()).entrySet().stream()
-                .map(entry -> Component.translatable("block.awesomeshop.shop_block.price_entry", entry.getValue(),
-                        Component.translatable(entry.getKey().item().getDescriptionId())).getString())
+        int[] ordinals = offer.priceOrdinals();
+        long[] amounts = offer.priceAmounts();
+        return Component.literal(IntStream.range(0, ordinals.length)
+                .mapToObj(i -> Component.translatable("block.awesomeshop.shop_block.price_entry", amounts[i],
+                        Component.translatable(offer.currencyTable().get(ordinals[i]).item().getDescriptionId()))
+                        .getString())
                 .collect(Collectors.joining(", ")));
     }
 }
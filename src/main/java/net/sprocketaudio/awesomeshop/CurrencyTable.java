@@ -0,0 +1,84 @@
+package net.sprocketaudio.awesomeshop;
+
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
+
+// Slot layout exposed to hoppers and pipes. Shared by every shop and only rebuilt when the configured
+// currency set changes, so the container methods can answer without parsing or allocating.
+public final class CurrencyTable {
+    public static final CurrencyTable EMPTY = new CurrencyTable(List.of());
+
+    private final List<ConfiguredCurrency> currencies;
+    private final int[] slots;
+    private final Reference2IntOpenHashMap<Item> slotsByItem;
+
+    public CurrencyTable(List<ConfiguredCurrency> currencies) {
+        this.currencies = List.copyOf(currencies);
+        this.slots = new int[Math.max(1, this.currencies.size())];
+        this.slotsByItem = new Reference2IntOpenHashMap<>(this.currencies.size());
+        this.slotsByItem.defaultReturnValue(-1);
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = i;
+        }
+        for (int i = 0; i < this.currencies.size(); i++) {
+            slotsByItem.putIfAbsent(this.currencies.get(i).item(), i);
+        }
+    }
+
+    public List<ConfiguredCurrency> currencies() {
+        return currencies;
+    }
+
+    public int size() {
+        return currencies.size();
+    }
+
+    public int containerSize() {
+        return slots.length;
+    }
+
+    // The returned array is shared between all callers and must not be modified.
+    public int[] slots() {
+        return slots;
+    }
+
+    public ConfiguredCurrency get(int slot) {
+        return currencies.get(slot);
+    }
+
+    public int slotOf(Item item) {
+        return slotsByItem.getInt(item);
+    }
+
+    public int indexOf(ResourceLocation id) {
+        for (int i = 0; i < currencies.size(); i++) {
+            if (currencies.get(i).id().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean accepts(int slot, ItemStack stack) {
+        return slot >= 0 && slot < currencies.size() && stack.getItem() == currencies.get(slot).item();
+    }
+
+    public boolean matches(List<ConfiguredCurrency> other) {
+        if (other.size() != currencies.size()) {
+            return false;
+        }
+        for (int i = 0; i < currencies.size(); i++) {
+            ConfiguredCurrency current = currencies.get(i);
+            ConfiguredCurrency candidate = other.get(i);
+            if (!current.id().equals(candidate.id()) || current.item() != candidate.item()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -9,6 +9,9 @@ import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.event.lifecycle.FMLClientSetupEvent;
 import net.neoforged.neoforge.client.gui.ConfigurationScreen;
 import net.neoforged.neoforge.client.gui.IConfigScreenFactory;
+import net.neoforged.neoforge.common.NeoForge;
+import net.sprocketaudio.awesomeshop.client.ClientCatalogCache;
+import net.sprocketaudio.awesomeshop.content.ShopMenu;
 
 // This class will not load on dedicated servers. Accessing client side code from here is safe.
 @Mod(value = AwesomeShop.MOD_ID, dist = Dist.CLIENT)
@@ -20,6 +23,8 @@ public class ExampleModClient {
         // The config screen is accessed by going to the Mods screen > clicking on your mod > clicking on config.
         // Do not forget to add translations for your config options to the en_us.json file.
         container.registerExtensionPoint(IConfigScreenFactory.class, ConfigurationScreen::new);
+        NeoForge.EVENT_BUS.addListener(ClientCatalogCache::onLoggingOut);
+        ShopMenu.setCachedCatalogLookup(ClientCatalogCache::find);
     }
 
     @SubscribeEvent
@@ -0,0 +1,38 @@
+package net.sprocketaudio.awesomeshop;
+
+import com.mojang.brigadier.CommandDispatcher;
+
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.network.chat.Component;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.sprocketaudio.awesomeshop.content.PurchaseRateLimiter;
+import net.sprocketaudio.awesomeshop.content.ShopDirtyTracker;
+import net.sprocketaudio.awesomeshop.journal.TransactionJournal;
+
+public class ShopCommands {
+    private ShopCommands() {
+    }
+
+    public static void register(RegisterCommandsEvent event) {
+        register(event.getDispatcher());
+    }
+
+    private static void register(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(Commands.literal(AwesomeShop.MOD_ID)
+                .requires(source -> source.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                .then(Commands.literal("stats").executes(context -> {
+                    CommandSourceStack source = context.getSource();
+                    source.sendSuccess(() -> Component.translatable("commands.awesomeshop.stats.dirty",
+                            ShopDirtyTracker.requestedCount(), ShopDirtyTracker.flushedCount(),
+                            ShopDirtyTracker.avoidedCount()), false);
+                    source.sendSuccess(() -> Component.translatable("commands.awesomeshop.stats.rate_limit",
+                            PurchaseRateLimiter.allowedCount(), PurchaseRateLimiter.playerRejectedCount(),
+                            PurchaseRateLimiter.shopRejectedCount(), PurchaseRateLimiter.trackedBuckets()), false);
+                    source.sendSuccess(() -> Component.translatable("commands.awesomeshop.stats.journal",
+                            TransactionJournal.writtenCount(), TransactionJournal.droppedCount(),
+                            TransactionJournal.status()), false);
+                    return 1;
+                })));
+    }
+}
@@ -1,5 +1,7 @@
 package net.sprocketaudio.awesomeshop.client;
 
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
 import net.neoforged.neoforge.client.event.RegisterMenuScreensEvent;
 import net.sprocketaudio.awesomeshop.AwesomeShop;
 import net.sprocketaudio.awesomeshop.content.ShopScreen;
@@ -11,4 +13,9 @@ public class AwesomeShopClient {
     public static void registerScreens(RegisterMenuScreensEvent event) {
         event.register(AwesomeShop.SHOP_MENU.get(), ShopScreen::new);
     }
+
+    // Baked offer icons go stale when textures or models change (F3+T, resource pack changes).
+    public static void registerReloadListeners(RegisterClientReloadListenersEvent event) {
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager -> OfferIconAtlas.release());
+    }
 }
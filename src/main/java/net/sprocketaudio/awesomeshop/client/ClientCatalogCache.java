@@ -0,0 +1,144 @@
+package net.sprocketaudio.awesomeshop.client;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.client.multiplayer.ServerData;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.client.event.ClientPlayerNetworkEvent;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.network.CatalogCodec;
+import org.jetbrains.annotations.Nullable;
+
+// Decoded catalogs keyed by content hash. Entries live in memory for the current connection and on disk per
+// server, so reopening a shop only needs the full catalog after the server config actually changes. Each server
+// keeps its most recently used MAX_FILES_PER_SERVER catalogs on disk; older ones are deleted when a new one is stored.
+public final class ClientCatalogCache {
+    private static final Path CACHE_ROOT = FMLPaths.GAMEDIR.get().resolve(AwesomeShop.MOD_ID).resolve("catalog-cache");
+    private static final String FILE_SUFFIX = ".bin";
+    private static final int MAX_FILES_PER_SERVER = 4;
+    private static final Long2ObjectMap<CatalogSnapshot> MEMORY = new Long2ObjectOpenHashMap<>();
+
+    private ClientCatalogCache() {
+    }
+
+    @Nullable
+    public static CatalogSnapshot find(long hash, long version) {
+        CatalogSnapshot cached = MEMORY.get(hash);
+        if (cached == null) {
+            cached = readFromDisk(hash, version);
+            if (cached != null) {
+                MEMORY.put(hash, cached);
+            }
+        }
+        return cached == null ? null : cached.withVersion(version);
+    }
+
+    @Nullable
+    public static CatalogSnapshot store(long hash, long version, byte[] data) {
+        CatalogSnapshot catalog = decode(data, hash, version);
+        if (catalog == null) {
+            return null;
+        }
+        MEMORY.put(hash, catalog);
+        Path file = cacheFile(hash);
+        Util.ioPool().execute(() -> write(file, data));
+        return catalog;
+    }
+
+    public static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        MEMORY.clear();
+    }
+
+    @Nullable
+    private static CatalogSnapshot readFromDisk(long hash, long version) {
+        Path file = cacheFile(hash);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            CatalogSnapshot catalog = decode(Files.readAllBytes(file), hash, version);
+            if (catalog == null) {
+                Files.deleteIfExists(file);
+            } else {
+                // The modification time orders entries for eviction.
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+            return catalog;
+        } catch (IOException ex) {
+            AwesomeShop.LOGGER.warn("Failed to read cached shop catalog {}", file, ex);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static CatalogSnapshot decode(byte[] data, long hash, long version) {
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        if (connection == null) {
+            return null;
+        }
+        try {
+            return CatalogCodec.decode(data, hash, version, connection.registryAccess());
+        } catch (IOException ex) {
+            AwesomeShop.LOGGER.warn("Discarding shop catalog {}: {}", Long.toHexString(hash), ex.getMessage());
+            return null;
+        }
+    }
+
+    private static void write(Path file, byte[] data) {
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temp, data);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            evictOldest(file.getParent());
+        } catch (IOException ex) {
+            AwesomeShop.LOGGER.warn("Failed to cache shop catalog {}", file, ex);
+        }
+    }
+
+    private static void evictOldest(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX)).toList();
+        }
+        if (files.size() <= MAX_FILES_PER_SERVER) {
+            return;
+        }
+        Map<Path, FileTime> modified = new HashMap<>();
+        for (Path path : files) {
+            modified.put(path, Files.getLastModifiedTime(path));
+        }
+        List<Path> oldestFirst = new ArrayList<>(files);
+        oldestFirst.sort(Comparator.comparing(modified::get));
+        for (Path path : oldestFirst.subList(0, files.size() - MAX_FILES_PER_SERVER)) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private static Path cacheFile(long hash) {
+        return CACHE_ROOT.resolve(serverKey()).resolve(String.format(Locale.ROOT, "%016x", hash) + FILE_SUFFIX);
+    }
+
+    private static String serverKey() {
+        ServerData server = Minecraft.getInstance().getCurrentServer();
+        String key = server != null ? server.ip : "singleplayer";
+        return key.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "_");
+    }
+}
@@ -0,0 +1,33 @@
+package net.sprocketaudio.awesomeshop.client;
+
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.content.ShopMenu;
+import net.sprocketaudio.awesomeshop.network.BalanceSyncPayload;
+import net.sprocketaudio.awesomeshop.network.CatalogPayload;
+import net.sprocketaudio.awesomeshop.network.PurchaseResultPayload;
+
+public final class ClientPayloadHandler {
+    private ClientPayloadHandler() {
+    }
+
+    public static void handleCatalog(CatalogPayload payload, IPayloadContext context) {
+        CatalogSnapshot catalog = ClientCatalogCache.store(payload.hash(), payload.version(), payload.data());
+        if (catalog != null && context.player().containerMenu instanceof ShopMenu menu
+                && menu.containerId == payload.containerId()) {
+            menu.acceptCatalog(payload.hash(), catalog);
+        }
+    }
+
+    public static void handleBalanceSync(BalanceSyncPayload payload, IPayloadContext context) {
+        if (context.player().containerMenu instanceof ShopMenu menu && menu.containerId == payload.containerId()) {
+            menu.applyBalances(payload.ordinals(), payload.balances());
+        }
+    }
+
+    public static void handlePurchaseResult(PurchaseResultPayload payload, IPayloadContext context) {
+        if (context.player().containerMenu instanceof ShopMenu menu && menu.containerId == payload.containerId()) {
+            menu.acceptPurchaseResult(payload.requestId(), payload.status());
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package net.sprocketaudio.awesomeshop.client;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.block.model.ItemOverrides;
+import net.minecraft.client.resources.model.BakedModel;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.client.ClientHooks;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+// Offer icons rendered once at their on-screen pixel size into texture pages, one cell per offer, so the shop can
+// draw them as plain sprites instead of running the item renderer for every card. Icons are baked the first time
+// they are shown, and a page is only allocated once one of its icons is. At most MAX_PAGES pages exist at a time;
+// the one drawn least recently is dropped to make room. Items whose look changes over time (foil, animated textures,
+// property overrides, custom renderers) are never baked and stay on the live renderer.
+public final class OfferIconAtlas {
+    private static final int PAGE_PIXELS = 512;
+    private static final int MAX_PAGES = 8;
+    private static final byte UNKNOWN = 0;
+    private static final byte BAKED = 1;
+    private static final byte LIVE = 2;
+
+    @Nullable
+    private static OfferIconAtlas cached;
+
+    private final List<ConfiguredOffer> offers;
+    private final int cellPixels;
+    private final int columns;
+    private final int cellsPerPage;
+    private final byte[] states;
+    private final RenderTarget[] pages;
+    private final long[] pageLastUsed;
+    private int livePages;
+    private long frame;
+    private float[] sprites = new float[64];
+    private int spriteCount;
+
+    private OfferIconAtlas(List<ConfiguredOffer> offers, int cellPixels) {
+        this.offers = offers;
+        this.cellPixels = cellPixels;
+        this.columns = Math.max(1, PAGE_PIXELS / cellPixels);
+        this.cellsPerPage = columns * columns;
+        this.states = new byte[offers.size()];
+        this.pages = new RenderTarget[Mth.positiveCeilDiv(Math.max(1, offers.size()), cellsPerPage)];
+        this.pageLastUsed = new long[pages.length];
+    }
+
+    // One atlas is kept for the catalog currently on screen; a new catalog or GUI scale replaces it.
+    public static OfferIconAtlas forCatalog(CatalogSnapshot catalog, int iconSize) {
+        int cellPixels = Math.max(1, Mth.ceil(iconSize * Minecraft.getInstance().getWindow().getGuiScale()));
+        if (cached != null && cached.offers == catalog.offers() && cached.cellPixels == cellPixels) {
+            return cached;
+        }
+        release();
+        cached = new OfferIconAtlas(catalog.offers(), cellPixels);
+        return cached;
+    }
+
+    // Frees the textures. Called when the shop closes and when resources reload, since baked icons would otherwise
+    // keep showing the old textures.
+    public static void release() {
+        if (cached != null) {
+            cached.close();
+            cached = null;
+        }
+    }
+
+    public boolean isBaked(int offer) {
+        return states[offer] == BAKED;
+    }
+
+    // Renders the offer's icon into its cell if that has not happened yet, returning whether it did. Must be called
+    // while the main render target is bound, outside any other off-screen pass.
+    public boolean bake(GuiGraphics graphics, int offer) {
+        int page = offer / cellsPerPage;
+        if (states[offer] == BAKED) {
+            pageLastUsed[page] = frame;
+        }
+        if (states[offer] != UNKNOWN) {
+            return false;
+        }
+        ItemStack stack = offers.get(offer).item();
+        if (!isStatic(stack)) {
+            states[offer] = LIVE;
+            return false;
+        }
+        RenderTarget target = getPage(page);
+        if (target == null) {
+            // Every page is in use this frame; try again on the next one.
+            return false;
+        }
+        int cell = offer % cellsPerPage;
+        graphics.flush();
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(new Matrix4f().setOrtho(0, target.width, target.height, 0, 1000,
+                ClientHooks.getGuiFarPlane()), VertexSorting.ORTHOGRAPHIC_Z);
+        target.bindWrite(true);
+        float scale = cellPixels / 16f;
+        graphics.pose().pushPose();
+        graphics.pose().setIdentity();
+        graphics.pose().translate((cell % columns) * cellPixels, (cell / columns) * cellPixels, 0);
+        graphics.pose().scale(scale, scale, 1.0f);
+        graphics.renderItem(stack, 0, 0);
+        graphics.pose().popPose();
+        graphics.flush();
+        Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+        RenderSystem.restoreProjectionMatrix();
+        states[offer] = BAKED;
+        return true;
+    }
+
+    private static boolean isStatic(ItemStack stack) {
+        if (stack.hasFoil()) {
+            return false;
+        }
+        BakedModel model = Minecraft.getInstance().getItemRenderer().getModel(stack, null, null, 0);
+        return !model.isCustomRenderer() && model.getOverrides() == ItemOverrides.EMPTY
+                && model.getParticleIcon().contents().getUniqueFrames().count() <= 1;
+    }
+
+    @Nullable
+    private RenderTarget getPage(int page) {
+        pageLastUsed[page] = frame;
+        if (pages[page] != null) {
+            return pages[page];
+        }
+        if (livePages == MAX_PAGES && !evictPage()) {
+            return null;
+        }
+        int size = columns * cellPixels;
+        RenderTarget target = new TextureTarget(size, size, true, Minecraft.ON_OSX);
+        target.setClearColor(0, 0, 0, 0);
+        target.clear(Minecraft.ON_OSX);
+        pages[page] = target;
+        livePages++;
+        return target;
+    }
+
+    private boolean evictPage() {
+        int oldest = -1;
+        for (int page = 0; page < pages.length; page++) {
+            if (pages[page] != null && pageLastUsed[page] < frame
+                    && (oldest < 0 || pageLastUsed[page] < pageLastUsed[oldest])) {
+                oldest = page;
+            }
+        }
+        if (oldest < 0) {
+            return false;
+        }
+        closePage(oldest);
+        return true;
+    }
+
+    private void closePage(int page) {
+        pages[page].destroyBuffers();
+        pages[page] = null;
+        livePages--;
+        int end = Math.min(states.length, (page + 1) * cellsPerPage);
+        for (int offer = page * cellsPerPage; offer < end; offer++) {
+            if (states[offer] == BAKED) {
+                states[offer] = UNKNOWN;
+            }
+        }
+    }
+
+    // Queues a baked icon covering size x size GUI units at x, y.
+    public void add(int offer, float x, float y, float size) {
+        if (spriteCount * 4 == sprites.length) {
+            sprites = Arrays.copyOf(sprites, sprites.length * 2);
+        }
+        int offset = spriteCount * 4;
+        sprites[offset] = offer;
+        sprites[offset + 1] = x;
+        sprites[offset + 2] = y;
+        sprites[offset + 3] = size;
+        spriteCount++;
+    }
+
+    // Draws all queued icons with one call per page. Cells were rendered over transparent black, hence premultiplied
+    // blending.
+    public void draw(GuiGraphics graphics) {
+        frame++;
+        if (spriteCount == 0) {
+            return;
+        }
+        Matrix4f pose = graphics.pose().last().pose();
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFuncSeparate(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA,
+                GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        for (int page = 0; page < pages.length; page++) {
+            if (pages[page] != null) {
+                drawPage(pose, page);
+            }
+        }
+        spriteCount = 0;
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    private void drawPage(Matrix4f pose, int page) {
+        RenderTarget target = pages[page];
+        float cellSize = (float) cellPixels / target.width;
+        BufferBuilder buffer = null;
+        for (int i = 0; i < spriteCount; i++) {
+            int offset = i * 4;
+            int offer = (int) sprites[offset];
+            if (offer / cellsPerPage != page) {
+                continue;
+            }
+            if (buffer == null) {
+                buffer = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+            }
+            int cell = offer % cellsPerPage;
+            float x = sprites[offset + 1];
+            float y = sprites[offset + 2];
+            float size = sprites[offset + 3];
+            float u0 = (cell % columns) * cellSize;
+            float u1 = u0 + cellSize;
+            float v0 = 1 - (cell / columns) * cellSize;
+            float v1 = v0 - cellSize;
+            buffer.addVertex(pose, x, y, 0).setUv(u0, v0);
+            buffer.addVertex(pose, x, y + size, 0).setUv(u0, v1);
+            buffer.addVertex(pose, x + size, y + size, 0).setUv(u1, v1);
+            buffer.addVertex(pose, x + size, y, 0).setUv(u1, v0);
+        }
+        if (buffer != null) {
+            RenderSystem.setShaderTexture(0, target.getColorTextureId());
+            BufferUploader.drawWithShader(buffer.buildOrThrow());
+        }
+    }
+
+    private void close() {
+        for (int page = 0; page < pages.length; page++) {
+            if (pages[page] != null) {
+                closePage(page);
+            }
+        }
+    }
+}
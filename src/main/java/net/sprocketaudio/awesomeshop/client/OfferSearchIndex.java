@@ -0,0 +1,130 @@
+package net.sprocketaudio.awesomeshop.client;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+
+// N-gram index over the localised name and registry id of every offer. Each offer's text is indexed by all of its
+// 1-, 2- and 3-character substrings, so a query is answered by intersecting the posting lists of its own grams and
+// only longer queries need a final substring check. Built on a background thread once per catalog and language.
+public final class OfferSearchIndex {
+    private static final int MAX_GRAM = 3;
+    private static final int[] NO_RESULTS = new int[0];
+
+    private static IndexKey cachedKey;
+    private static CompletableFuture<OfferSearchIndex> cachedIndex;
+
+    private final String[] texts;
+    private final Long2ObjectMap<int[]> postings;
+
+    private OfferSearchIndex(String[] texts, Long2ObjectMap<int[]> postings) {
+        this.texts = texts;
+        this.postings = postings;
+    }
+
+    // Names are resolved on the calling thread, since language lookups are not safe during a resource reload;
+    // only the indexing itself runs in the background.
+    public static CompletableFuture<OfferSearchIndex> forCatalog(CatalogSnapshot catalog) {
+        IndexKey key = new IndexKey(catalog.offers(), Minecraft.getInstance().getLanguageManager().getSelected());
+        if (cachedIndex != null && key.equals(cachedKey)) {
+            return cachedIndex;
+        }
+        List<ConfiguredOffer> offers = catalog.offers();
+        String[] texts = new String[offers.size()];
+        for (int i = 0; i < texts.length; i++) {
+            ConfiguredOffer offer = offers.get(i);
+            texts[i] = offer.item().getHoverName().getString().toLowerCase(Locale.ROOT) + '\n'
+                    + BuiltInRegistries.ITEM.getKey(offer.item().getItem());
+        }
+        cachedKey = key;
+        cachedIndex = CompletableFuture.supplyAsync(() -> build(texts), Util.backgroundExecutor());
+        return cachedIndex;
+    }
+
+    private static OfferSearchIndex build(String[] texts) {
+        Long2ObjectOpenHashMap<IntArrayList> lists = new Long2ObjectOpenHashMap<>();
+        for (int offer = 0; offer < texts.length; offer++) {
+            String text = texts[offer];
+            for (int length = 1; length <= MAX_GRAM; length++) {
+                for (int start = 0; start + length <= text.length(); start++) {
+                    IntArrayList list = lists.computeIfAbsent(gram(text, start, length), k -> new IntArrayList());
+                    if (list.isEmpty() || list.getInt(list.size() - 1) != offer) {
+                        list.add(offer);
+                    }
+                }
+            }
+        }
+        Long2ObjectOpenHashMap<int[]> postings = new Long2ObjectOpenHashMap<>(lists.size());
+        for (Long2ObjectMap.Entry<IntArrayList> entry : lists.long2ObjectEntrySet()) {
+            postings.put(entry.getLongKey(), entry.getValue().toIntArray());
+        }
+        return new OfferSearchIndex(texts, postings);
+    }
+
+    // Packs the gram length and up to three UTF-16 units into one key.
+    private static long gram(String text, int start, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 16) | text.charAt(start + i);
+        }
+        return key;
+    }
+
+    // Offer indices whose name or id contains the query, in catalog order.
+    public int[] search(String query) {
+        String needle = query.toLowerCase(Locale.ROOT);
+        if (needle.isEmpty()) {
+            return NO_RESULTS;
+        }
+        int length = Math.min(MAX_GRAM, needle.length());
+        int gramCount = needle.length() - length + 1;
+        int[][] lists = new int[gramCount][];
+        for (int i = 0; i < gramCount; i++) {
+            int[] list = postings.get(gram(needle, i, length));
+            if (list == null) {
+                return NO_RESULTS;
+            }
+            lists[i] = list;
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.length, b.length));
+
+        IntArrayList results = new IntArrayList();
+        for (int offer : lists[0]) {
+            if (containsAll(lists, offer) && (needle.length() <= MAX_GRAM || texts[offer].contains(needle))) {
+                results.add(offer);
+            }
+        }
+        return results.toIntArray();
+    }
+
+    private static boolean containsAll(int[][] lists, int offer) {
+        for (int i = 1; i < lists.length; i++) {
+            if (Arrays.binarySearch(lists[i], offer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record IndexKey(List<ConfiguredOffer> offers, String language) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IndexKey key && key.offers == offers && key.language.equals(language);
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(offers) * 31 + language.hashCode();
+        }
+    }
+}
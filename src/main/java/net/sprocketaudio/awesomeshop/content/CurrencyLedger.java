@@ -0,0 +1,217 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import org.jetbrains.annotations.Nullable;
+
+// Dense per-shop balance store indexed by the ordinals of the active currency table. Balances for currencies
+// that are no longer configured are parked in a side table and moved back if the currency returns.
+public final class CurrencyLedger {
+    private CurrencyTable table;
+    private long[] balances;
+    private long[] scratch;
+    private final Map<ResourceLocation, Long> orphaned = new HashMap<>();
+    private long revision;
+
+    public CurrencyLedger(CurrencyTable table) {
+        this.table = table;
+        this.balances = new long[table.size()];
+        this.scratch = new long[table.size()];
+    }
+
+    public void bind(CurrencyTable current) {
+        if (current == table) {
+            return;
+        }
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] > 0) {
+                orphaned.merge(table.get(i).id(), balances[i], CurrencyLedger::saturatedAdd);
+            }
+        }
+        table = current;
+        revision++;
+        balances = new long[current.size()];
+        scratch = new long[current.size()];
+        for (int i = 0; i < balances.length; i++) {
+            Long parked = orphaned.remove(current.get(i).id());
+            if (parked != null) {
+                balances[i] = parked;
+            }
+        }
+    }
+
+    public CurrencyTable table() {
+        return table;
+    }
+
+    // Incremented on every change, so observers can skip comparing balances when nothing happened.
+    public long revision() {
+        return revision;
+    }
+
+    public long get(int ordinal) {
+        return ordinal >= 0 && ordinal < balances.length ? balances[ordinal] : 0L;
+    }
+
+    public long get(ResourceLocation id) {
+        int ordinal = table.indexOf(id);
+        if (ordinal >= 0) {
+            return balances[ordinal];
+        }
+        Long parked = orphaned.get(id);
+        return parked == null ? 0L : parked;
+    }
+
+    public long headroom(int ordinal) {
+        return ordinal >= 0 && ordinal < balances.length ? Long.MAX_VALUE - balances[ordinal] : 0L;
+    }
+
+    // Returns false without changing anything if the deposit would overflow the balance.
+    public boolean deposit(int ordinal, long amount) {
+        if (ordinal < 0 || ordinal >= balances.length || amount <= 0) {
+            return false;
+        }
+        if (balances[ordinal] > Long.MAX_VALUE - amount) {
+            return false;
+        }
+        balances[ordinal] += amount;
+        revision++;
+        return true;
+    }
+
+    public void put(ResourceLocation id, long amount) {
+        revision++;
+        int ordinal = table.indexOf(id);
+        if (ordinal >= 0) {
+            balances[ordinal] = Math.max(0L, amount);
+        } else if (amount > 0) {
+            orphaned.put(id, amount);
+        } else {
+            orphaned.remove(id);
+        }
+    }
+
+    // Adds to a balance by id, saturating instead of overflowing.
+    public void credit(ResourceLocation id, long amount) {
+        if (amount > 0) {
+            put(id, saturatedAdd(get(id), amount));
+        }
+    }
+
+    // Zeroed work array sized to the current table, reused between purchases to avoid allocation.
+    long[] requirements() {
+        Arrays.fill(scratch, 0L);
+        return scratch;
+    }
+
+    // Debits every non-zero entry at once, or nothing at all if any balance is short.
+    public boolean withdraw(long[] amounts) {
+        if (amounts.length != balances.length) {
+            return false;
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            if (amounts[i] < 0 || balances[i] < amounts[i]) {
+                return false;
+            }
+        }
+        for (int i = 0; i < amounts.length; i++) {
+            balances[i] -= amounts[i];
+        }
+        revision++;
+        return true;
+    }
+
+    public boolean isEmpty() {
+        for (long balance : balances) {
+            if (balance > 0) {
+                return false;
+            }
+        }
+        return orphaned.isEmpty();
+    }
+
+    public void clear() {
+        Arrays.fill(balances, 0L);
+        orphaned.clear();
+        revision++;
+    }
+
+    public void forEach(BalanceConsumer consumer) {
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] > 0) {
+                consumer.accept(table.get(i).id(), balances[i]);
+            }
+        }
+        for (Map.Entry<ResourceLocation, Long> entry : orphaned.entrySet()) {
+            consumer.accept(entry.getKey(), entry.getValue());
+        }
+    }
+
+    // Non-zero balances as (palette index, amount) pairs, the compact form stored in chunk data. Null if any
+    // currency with a balance is not in the saved palette yet; the caller then keeps the id-keyed form.
+    @Nullable
+    public long[] encode(CurrencyPalette palette) {
+        int[] paletteIndices = palette.paletteIndices(table);
+        int count = orphaned.size();
+        for (long balance : balances) {
+            if (balance > 0) {
+                count++;
+            }
+        }
+        long[] packed = new long[count * 2];
+        int offset = 0;
+        for (int i = 0; i < balances.length; i++) {
+            if (balances[i] > 0) {
+                if (!palette.isSaved(paletteIndices[i])) {
+                    return null;
+                }
+                packed[offset++] = paletteIndices[i];
+                packed[offset++] = balances[i];
+            }
+        }
+        for (Map.Entry<ResourceLocation, Long> entry : orphaned.entrySet()) {
+            int index = palette.indexOf(entry.getKey());
+            if (!palette.isSaved(index)) {
+                return null;
+            }
+            packed[offset++] = index;
+            packed[offset++] = entry.getValue();
+        }
+        return packed;
+    }
+
+    // Replaces the contents with pairs written by encode. Currencies missing from the table are parked as usual.
+    public void decode(long[] packed, CurrencyPalette palette) {
+        clear();
+        for (int i = 0; i + 1 < packed.length; i += 2) {
+            int index = (int) packed[i];
+            long amount = packed[i + 1];
+            if (amount <= 0) {
+                continue;
+            }
+            int ordinal = palette.ordinalOf(index, table);
+            if (ordinal >= 0) {
+                balances[ordinal] = amount;
+                continue;
+            }
+            ResourceLocation id = palette.id(index);
+            if (id != null) {
+                orphaned.put(id, amount);
+            }
+        }
+    }
+
+    static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return ((a ^ sum) & (b ^ sum)) < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    @FunctionalInterface
+    public interface BalanceConsumer {
+        void accept(ResourceLocation id, long amount);
+    }
+}
@@ -0,0 +1,158 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.LevelAccessor;
+import net.minecraft.world.level.saveddata.SavedData;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import org.jetbrains.annotations.Nullable;
+
+// Per-save numbering of currency ids, so shop ledgers store balances against small integers instead of repeating
+// every id string in every chunk. Indices are only ever appended, so a saved ledger stays readable for the life of
+// the world even after currencies are removed from the config. Ids are only added on the server thread at startup
+// and after a catalog rebuild, and chunks only refer to indices the palette file already held when it was last
+// written, since chunks can be saved long before the next level save writes a new palette.
+public final class CurrencyPalette extends SavedData {
+    private static final String DATA_NAME = AwesomeShop.MOD_ID + "_currency_palette";
+    private static final String IDS_TAG = "Ids";
+    private static final SavedData.Factory<CurrencyPalette> FACTORY =
+            new SavedData.Factory<>(CurrencyPalette::new, CurrencyPalette::load, null);
+
+    private final List<ResourceLocation> ids = new ArrayList<>();
+    private final Object2IntOpenHashMap<ResourceLocation> indices = new Object2IntOpenHashMap<>();
+    private int savedSize;
+    private CurrencyTable mappedTable;
+    private int[] tableToPalette = new int[0];
+    private int[] paletteToTable = new int[0];
+
+    private CurrencyPalette() {
+        indices.defaultReturnValue(-1);
+    }
+
+    // The palette of the level's server, or null for client levels, level-less block entities and calls off the
+    // server thread; callers then fall back to the id-keyed format. On an integrated server the client still sees a
+    // running server, so the level decides rather than ServerLifecycleHooks.
+    @Nullable
+    public static CurrencyPalette get(@Nullable LevelAccessor level) {
+        if (!(level instanceof ServerLevel serverLevel) || !serverLevel.getServer().isSameThread()) {
+            return null;
+        }
+        return get(serverLevel.getServer());
+    }
+
+    private static CurrencyPalette get(MinecraftServer server) {
+        return server.overworld().getDataStorage().computeIfAbsent(FACTORY, DATA_NAME);
+    }
+
+    public static void onServerStarted(ServerStartedEvent event) {
+        get(event.getServer()).register(Config.getCatalog().currencyTable());
+    }
+
+    // Config reloads arrive off the server thread, so the new currencies are registered from the next task slot.
+    public static void onCatalogRebuilt(CurrencyTable table) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null) {
+            server.execute(() -> get(server).register(table));
+        }
+    }
+
+    private static CurrencyPalette load(CompoundTag tag, HolderLookup.Provider provider) {
+        CurrencyPalette palette = new CurrencyPalette();
+        ListTag list = tag.getList(IDS_TAG, Tag.TAG_STRING);
+        for (int i = 0; i < list.size(); i++) {
+            ResourceLocation id = ResourceLocation.tryParse(list.getString(i));
+            // Keep the slot even if the id is unreadable, so later indices do not shift.
+            palette.ids.add(id);
+            if (id != null) {
+                palette.indices.putIfAbsent(id, i);
+            }
+        }
+        palette.savedSize = palette.ids.size();
+        return palette;
+    }
+
+    @Override
+    public CompoundTag save(CompoundTag tag, HolderLookup.Provider provider) {
+        ListTag list = new ListTag();
+        for (ResourceLocation id : ids) {
+            list.add(StringTag.valueOf(id == null ? "" : id.toString()));
+        }
+        tag.put(IDS_TAG, list);
+        savedSize = ids.size();
+        return tag;
+    }
+
+    private void register(CurrencyTable table) {
+        for (int i = 0; i < table.size(); i++) {
+            ResourceLocation id = table.get(i).id();
+            if (indices.getInt(id) < 0) {
+                indices.put(id, ids.size());
+                ids.add(id);
+                setDirty();
+            }
+        }
+    }
+
+    // -1 for ids that have not been registered.
+    public int indexOf(ResourceLocation id) {
+        return indices.getInt(id);
+    }
+
+    // Whether the index is in the palette file on disk, so a chunk written now can be read back after a crash.
+    public boolean isSaved(int index) {
+        return index >= 0 && index < savedSize;
+    }
+
+    @Nullable
+    public ResourceLocation id(int index) {
+        return index >= 0 && index < ids.size() ? ids.get(index) : null;
+    }
+
+    // Palette index of every ordinal of the table, -1 where unregistered. The returned array is shared and must not
+    // be modified.
+    public int[] paletteIndices(CurrencyTable table) {
+        remap(table);
+        return tableToPalette;
+    }
+
+    // Table ordinal of a palette index, or -1 if the currency is not in the table.
+    public int ordinalOf(int index, CurrencyTable table) {
+        remap(table);
+        return index >= 0 && index < paletteToTable.length ? paletteToTable[index] : -1;
+    }
+
+    private void remap(CurrencyTable table) {
+        if (table == mappedTable && paletteToTable.length == ids.size()) {
+            return;
+        }
+        int[] toPalette = new int[table.size()];
+        for (int i = 0; i < toPalette.length; i++) {
+            toPalette[i] = indexOf(table.get(i).id());
+        }
+        int[] toTable = new int[ids.size()];
+        Arrays.fill(toTable, -1);
+        for (int i = 0; i < toPalette.length; i++) {
+            if (toPalette[i] >= 0 && toTable[toPalette[i]] < 0) {
+                toTable[toPalette[i]] = i;
+            }
+        }
+        mappedTable = table;
+        tableToPalette = toPalette;
+        paletteToTable = toTable;
+    }
+}
@@ -0,0 +1,52 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.List;
+import java.util.Map;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.InteractionResult;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.item.context.UseOnContext;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// Holds the balance of a shop that was removed without dropping its block item, as a single entity instead of one
+// per stack. Using it on a shop pays the whole balance into that shop.
+public class CurrencyVaultItem extends Item {
+    public CurrencyVaultItem(Properties properties) {
+        super(properties);
+    }
+
+    @Override
+    public InteractionResult useOn(UseOnContext context) {
+        ShopLedgerContents contents = context.getItemInHand().get(AwesomeShop.SHOP_LEDGER.get());
+        if (contents == null || !(context.getLevel().getBlockEntity(context.getClickedPos())
+                instanceof ShopBlockEntity shop)) {
+            return InteractionResult.PASS;
+        }
+        if (!context.getLevel().isClientSide) {
+            shop.depositLedger(contents);
+            context.getItemInHand().shrink(1);
+        }
+        return InteractionResult.sidedSuccess(context.getLevel().isClientSide);
+    }
+
+    @Override
+    public void appendHoverText(ItemStack stack, TooltipContext context, List<Component> tooltip, TooltipFlag flag) {
+        ShopLedgerContents contents = stack.get(AwesomeShop.SHOP_LEDGER.get());
+        if (contents == null) {
+            return;
+        }
+        for (Map.Entry<ResourceLocation, Long> entry : contents.balances().entrySet()) {
+            Component name = BuiltInRegistries.ITEM.getOptional(entry.getKey())
+                    .map(Item::getDescription)
+                    .orElseGet(() -> Component.literal(entry.getKey().toString()));
+            tooltip.add(Component.translatable("item.awesomeshop.currency_vault.entry", entry.getValue(), name)
+                    .withStyle(ChatFormatting.GRAY));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongMaps;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.sprocketaudio.awesomeshop.Config;
+
+// Token buckets for purchase requests, one per player and one per shop. Each bucket is a single long holding the
+// tick it was last touched and its balance in thousandths of a token, refilled lazily when it is next looked at.
+// A bucket that has had time to refill completely is indistinguishable from a missing one, so those are swept out.
+public final class PurchaseRateLimiter {
+    private static final int TICKS_PER_SECOND = 20;
+    private static final long MILLI_TOKENS = 1000;
+    private static final int TOKEN_BITS = 24;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final int SWEEP_INTERVAL_TICKS = 1200;
+    private static final long MISSING = -1L;
+
+    private static final Long2LongOpenHashMap PLAYER_BUCKETS = createBuckets();
+    private static final Long2LongOpenHashMap SHOP_BUCKETS = createBuckets();
+    private static long allowedCount;
+    private static long playerRejectedCount;
+    private static long shopRejectedCount;
+
+    private PurchaseRateLimiter() {
+    }
+
+    private static Long2LongOpenHashMap createBuckets() {
+        Long2LongOpenHashMap buckets = new Long2LongOpenHashMap();
+        buckets.defaultReturnValue(MISSING);
+        return buckets;
+    }
+
+    static boolean tryAcquire(ServerPlayer player, ShopBlockEntity shop) {
+        long now = player.server.getTickCount();
+        long playerKey = player.getUUID().getMostSignificantBits() ^ player.getUUID().getLeastSignificantBits();
+        long playerRefill = refillPerTick(Config.PLAYER_PURCHASES_PER_SECOND.get());
+        long playerCapacity = capacity(Config.PLAYER_PURCHASE_BURST.get());
+        long playerTokens = available(PLAYER_BUCKETS, playerKey, now, playerRefill, playerCapacity);
+        if (playerTokens < MILLI_TOKENS) {
+            playerRejectedCount++;
+            return false;
+        }
+
+        long shopKey = shopKey(shop);
+        long shopRefill = refillPerTick(Config.SHOP_PURCHASES_PER_SECOND.get());
+        long shopCapacity = capacity(Config.SHOP_PURCHASE_BURST.get());
+        long shopTokens = available(SHOP_BUCKETS, shopKey, now, shopRefill, shopCapacity);
+        if (shopTokens < MILLI_TOKENS) {
+            shopRejectedCount++;
+            return false;
+        }
+
+        store(PLAYER_BUCKETS, playerKey, now, playerTokens - MILLI_TOKENS);
+        store(SHOP_BUCKETS, shopKey, now, shopTokens - MILLI_TOKENS);
+        allowedCount++;
+        return true;
+    }
+
+    public static void onServerTick(ServerTickEvent.Post event) {
+        long now = event.getServer().getTickCount();
+        if (now % SWEEP_INTERVAL_TICKS != 0) {
+            return;
+        }
+        sweep(PLAYER_BUCKETS, now, refillPerTick(Config.PLAYER_PURCHASES_PER_SECOND.get()),
+                capacity(Config.PLAYER_PURCHASE_BURST.get()));
+        sweep(SHOP_BUCKETS, now, refillPerTick(Config.SHOP_PURCHASES_PER_SECOND.get()),
+                capacity(Config.SHOP_PURCHASE_BURST.get()));
+    }
+
+    public static void onServerStopping(ServerStoppingEvent event) {
+        PLAYER_BUCKETS.clear();
+        SHOP_BUCKETS.clear();
+    }
+
+    private static long shopKey(ShopBlockEntity shop) {
+        long key = shop.getBlockPos().asLong();
+        if (shop.getLevel() != null) {
+            key = key * 31 + shop.getLevel().dimension().location().hashCode();
+        }
+        return key;
+    }
+
+    private static long available(Long2LongOpenHashMap buckets, long key, long now, long refillPerTick,
+            long capacity) {
+        long state = buckets.get(key);
+        if (state == MISSING) {
+            return capacity;
+        }
+        long elapsed = Math.max(0L, now - (state >>> TOKEN_BITS));
+        long tokens = state & TOKEN_MASK;
+        // Compared in ticks, so the multiplication below only runs when its result stays under the capacity.
+        long ticksToFull = Math.ceilDiv(Math.max(0L, capacity - tokens), refillPerTick);
+        return elapsed >= ticksToFull ? capacity : tokens + (elapsed * refillPerTick);
+    }
+
+    private static void store(Long2LongOpenHashMap buckets, long key, long now, long tokens) {
+        buckets.put(key, (now << TOKEN_BITS) | tokens);
+    }
+
+    private static void sweep(Long2LongOpenHashMap buckets, long now, long refillPerTick, long capacity) {
+        ObjectIterator<Long2LongMap.Entry> iterator = Long2LongMaps.fastIterator(buckets);
+        while (iterator.hasNext()) {
+            Long2LongMap.Entry entry = iterator.next();
+            if (available(buckets, entry.getLongKey(), now, refillPerTick, capacity) >= capacity) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static long refillPerTick(int perSecond) {
+        return (perSecond * MILLI_TOKENS) / TICKS_PER_SECOND;
+    }
+
+    private static long capacity(int burst) {
+        return Math.min(TOKEN_MASK, burst * MILLI_TOKENS);
+    }
+
+    public static long allowedCount() {
+        return allowedCount;
+    }
+
+    public static long playerRejectedCount() {
+        return playerRejectedCount;
+    }
+
+    public static long shopRejectedCount() {
+        return shopRejectedCount;
+    }
+
+    public static int trackedBuckets() {
+        return PLAYER_BUCKETS.size() + SHOP_BUCKETS.size();
+    }
+}
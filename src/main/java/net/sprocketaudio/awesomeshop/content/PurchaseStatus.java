@@ -0,0 +1,11 @@
+package net.sprocketaudio.awesomeshop.content;
+
+public enum PurchaseStatus {
+    SUCCESS,
+    INSUFFICIENT_FUNDS,
+    STALE_CATALOG,
+    INVALID_OFFER,
+    INVALID_QUANTITY,
+    RATE_LIMITED,
+    UNAVAILABLE
+}
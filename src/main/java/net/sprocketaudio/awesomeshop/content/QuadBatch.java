@@ -0,0 +1,63 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.Arrays;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.RenderType;
+import org.joml.Matrix4f;
+
+// Collects solid rectangles and submits them as one run of GUI quads with a single flush. GuiGraphics.fill flushes
+// after every rectangle, so a screen full of cards and outlines otherwise becomes hundreds of tiny draws.
+final class QuadBatch {
+    private int[] bounds = new int[256];
+    private int[] colors = new int[64];
+    private int count;
+
+    void fill(int minX, int minY, int maxX, int maxY, int color) {
+        if (minX == maxX || minY == maxY || (color >>> 24) == 0) {
+            return;
+        }
+        if (count == colors.length) {
+            colors = Arrays.copyOf(colors, count * 2);
+            bounds = Arrays.copyOf(bounds, count * 8);
+        }
+        int offset = count * 4;
+        bounds[offset] = Math.min(minX, maxX);
+        bounds[offset + 1] = Math.min(minY, maxY);
+        bounds[offset + 2] = Math.max(minX, maxX);
+        bounds[offset + 3] = Math.max(minY, maxY);
+        colors[count] = color;
+        count++;
+    }
+
+    void outline(int x, int y, int width, int height, int thickness, int color) {
+        if (width <= 0 || height <= 0 || thickness <= 0) {
+            return;
+        }
+        int clampedThickness = Math.max(1, Math.min(thickness, Math.min(width, height) / 2));
+        fill(x, y, x + width, y + clampedThickness, color);
+        fill(x, y + height - clampedThickness, x + width, y + height, color);
+        fill(x, y, x + clampedThickness, y + height, color);
+        fill(x + width - clampedThickness, y, x + width, y + height, color);
+    }
+
+    // Draws everything gathered so far under the current pose and scissor, then empties the batch.
+    void draw(GuiGraphics graphics) {
+        if (count == 0) {
+            return;
+        }
+        Matrix4f pose = graphics.pose().last().pose();
+        VertexConsumer consumer = graphics.bufferSource().getBuffer(RenderType.gui());
+        for (int i = 0; i < count; i++) {
+            int offset = i * 4;
+            int color = colors[i];
+            consumer.addVertex(pose, bounds[offset], bounds[offset + 1], 0).setColor(color);
+            consumer.addVertex(pose, bounds[offset], bounds[offset + 3], 0).setColor(color);
+            consumer.addVertex(pose, bounds[offset + 2], bounds[offset + 3], 0).setColor(color);
+            consumer.addVertex(pose, bounds[offset + 2], bounds[offset + 1], 0).setColor(color);
+        }
+        count = 0;
+        graphics.flush();
+    }
+}
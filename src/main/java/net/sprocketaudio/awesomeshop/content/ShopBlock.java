@@ -5,14 +5,18 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.EntityBlock;
 import net.minecraft.world.level.block.RenderShape;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.material.FluidState;
 import net.minecraft.world.phys.BlockHitResult;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
 import net.sprocketaudio.awesomeshop.Config;
+import org.jetbrains.annotations.Nullable;
 
 public class ShopBlock extends Block implements EntityBlock {
     public ShopBlock(Properties properties) {
@@ -31,8 +35,8 @@ public class ShopBlock extends Block implements EntityBlock {
             return InteractionResult.PASS;
         }
 
-        var offers = Config.getConfiguredOffers();
-        if (offers.isEmpty()) {
+        CatalogSnapshot catalog = Config.getCatalog();
+        if (!catalog.hasOffers()) {
             if (!level.isClientSide) {
                 player.displayClientMessage(Component.translatable("block.awesomeshop.shop_block.no_offers"), true);
             }
@@ -41,7 +45,7 @@ public class ShopBlock extends Block implements EntityBlock {
 
         if (!level.isClientSide) {
             if (player instanceof ServerPlayer serverPlayer) {
-                serverPlayer.openMenu(shop, buffer -> ShopMenu.writeScreenData(shop, buffer));
+                serverPlayer.openMenu(shop, buffer -> ShopMenu.writeScreenData(shop, catalog, buffer));
             }
         }
         return InteractionResult.sidedSuccess(level.isClientSide);
@@ -52,6 +56,31 @@ public class ShopBlock extends Block implements EntityBlock {
         return new ShopBlockEntity(pos, state);
     }
 
+    // When a player harvests the shop, onRemove holds the balance back and playerDestroy settles it: on the dropped
+    // block item if the drops really carried it, as a vault otherwise.
+    @Override
+    public boolean onDestroyedByPlayer(BlockState state, Level level, BlockPos pos, Player player, boolean willHarvest,
+            FluidState fluid) {
+        ShopBlockEntity shop = willHarvest && level.getBlockEntity(pos) instanceof ShopBlockEntity be ? be : null;
+        if (shop != null) {
+            shop.keepLedgerForDrop();
+        }
+        boolean removed = super.onDestroyedByPlayer(state, level, pos, player, willHarvest, fluid);
+        if (!removed && shop != null) {
+            shop.cancelLedgerDrop();
+        }
+        return removed;
+    }
+
+    @Override
+    public void playerDestroy(Level level, Player player, BlockPos pos, BlockState state,
+            @Nullable BlockEntity blockEntity, ItemStack tool) {
+        super.playerDestroy(level, player, pos, state, blockEntity, tool);
+        if (blockEntity instanceof ShopBlockEntity shop) {
+            shop.settleLedgerDrop(level, pos);
+        }
+    }
+
     @Override
     public void onRemove(BlockState state, Level level, BlockPos pos, BlockState newState, boolean movedByPiston) {
         if (state.getBlock() != newState.getBlock()) {
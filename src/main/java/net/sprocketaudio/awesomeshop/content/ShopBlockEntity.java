@@ -1,180 +1,421 @@
 package net.sprocketaudio.awesomeshop.content;
 
-import java.util.EnumMap;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.core.HolderLookup;
+import net.minecraft.core.component.DataComponentMap;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.world.Containers;
-import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.WorldlyContainer;
+import net.minecraft.world.entity.item.ItemEntity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
+import net.minecraft.world.level.GameRules;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
 import net.sprocketaudio.awesomeshop.AwesomeShop;
 import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import net.sprocketaudio.awesomeshop.journal.TransactionJournal;
 
 import net.minecraft.network.chat.Component;
+import net.neoforged.neoforge.event.level.BlockDropsEvent;
+import net.neoforged.neoforge.event.level.ChunkDataEvent;
 import net.neoforged.neoforge.items.IItemHandler;
-import net.neoforged.neoforge.items.wrapper.SidedInvWrapper;
 import org.jetbrains.annotations.Nullable;
 
 public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, MenuProvider {
+    private static final String LEDGER_TAG = "Ledger";
     private static final String CURRENCIES_TAG = "Currencies";
     private static final String CURRENCY_ID_TAG = "Id";
     private static final String CURRENCY_COUNT_TAG = "Count";
+    private static final List<String> LEDGER_TAGS = List.of(LEDGER_TAG, CURRENCIES_TAG, CURRENCY_COUNT_TAG);
 
-    private final Map<ResourceLocation, Integer> currencyCounts = new HashMap<>();
-    private final Map<Direction, SidedInvWrapper> sidedHandlers = new EnumMap<>(Direction.class);
-    private final SidedInvWrapper unsidedHandler;
+    private final CurrencyLedger ledger = new CurrencyLedger(currencyTable());
+    // Ledger tags from the last load that nothing has needed yet. Most shops are never opened or fed before their
+    // chunk unloads again, so decoding waits for the first access and an untouched shop saves these tags as read.
+    @Nullable
+    private CompoundTag undecodedLedger;
+    // Set while a player harvests the shop: onRemove leaves the balance for the block item, and the drop path either
+    // confirms the item carrying it was spawned or falls back to a vault.
+    private boolean ledgerLeavesWithItem;
+    private boolean ledgerDropConfirmed;
+    private final ShopItemHandler itemHandler = new ShopItemHandler(this);
 
     public ShopBlockEntity(BlockPos pos, BlockState state) {
-        super(AwesomeShop.SHOP_BLOCK_ENTITY.get(), pos, state);
+        this(AwesomeShop.SHOP_BLOCK_ENTITY.get(), pos, state);
+    }
+
+    // The registered type only exists once the mod has loaded; benchmarks pass a stand-in.
+    ShopBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
+        super(type, pos, state);
+    }
+
+    public PurchaseStatus tryPurchase(ConfiguredOffer offer, long quantity, Player player) {
+        return tryCheckout(List.of(offer), new long[] {quantity}, player);
+    }
 
-        for (Direction direction : Direction.values()) {
-            sidedHandlers.put(direction, new SidedInvWrapper(this, direction));
+    // Prices every line against the ledger together and debits the combined total at once, so a cart is either
+    // bought in full or not at all. Identical items from different lines are delivered as one batch.
+    public PurchaseStatus tryCheckout(List<ConfiguredOffer> offers, long[] quantities, Player player) {
+        long probe = ShopProfiler.begin();
+        try {
+            if (level == null || level.isClientSide) {
+                return PurchaseStatus.UNAVAILABLE;
+            }
+            if (offers.isEmpty() || offers.size() != quantities.length) {
+                return PurchaseStatus.INVALID_QUANTITY;
+            }
+
+            List<ItemStack> deliveries = new ArrayList<>(offers.size());
+            long[] deliveryCounts = new long[offers.size()];
+            PurchaseStatus status = debit(ledger(), offers, quantities, deliveries, deliveryCounts);
+            if (status != PurchaseStatus.SUCCESS) {
+                return status;
+            }
+
+            for (int i = 0; i < deliveries.size(); i++) {
+                deliver(deliveries.get(i), deliveryCounts[i], player);
+            }
+            for (int line = 0; line < offers.size(); line++) {
+                TransactionJournal.recordPurchase(level, worldPosition, player, offers.get(line), quantities[line]);
+            }
+            ShopDirtyTracker.markDirty(this);
+            return PurchaseStatus.SUCCESS;
+        } finally {
+            ShopProfiler.end(probe);
         }
-        unsidedHandler = new SidedInvWrapper(this, null);
     }
 
-    public boolean tryPurchase(ConfiguredOffer offer, int quantity, Player player) {
-        if (level == null || level.isClientSide || quantity <= 0) {
-            return false;
+    // Withdraws the combined price of every line from the ledger and fills in the merged deliveries. Nothing is
+    // withdrawn unless the status is SUCCESS.
+    static PurchaseStatus debit(CurrencyLedger ledger, List<ConfiguredOffer> offers, long[] quantities,
+            List<ItemStack> deliveries, long[] deliveryCounts) {
+        CurrencyTable table = ledger.table();
+        long[] required = ledger.requirements();
+        try {
+            for (int line = 0; line < offers.size(); line++) {
+                ConfiguredOffer offer = offers.get(line);
+                long quantity = quantities[line];
+                if (quantity <= 0) {
+                    return PurchaseStatus.INVALID_QUANTITY;
+                }
+                if (offer.item().isEmpty() || !offer.hasValidPrice()) {
+                    return PurchaseStatus.INVALID_OFFER;
+                }
+
+                // Offers compiled against an older currency table are remapped by id.
+                int[] ordinals = offer.priceOrdinals();
+                long[] amounts = offer.priceAmounts();
+                boolean sameTable = offer.currencyTable() == table;
+                for (int i = 0; i < ordinals.length; i++) {
+                    int ordinal = sameTable ? ordinals[i] : table.indexOf(offer.currencyTable().get(ordinals[i]).id());
+                    if (ordinal < 0) {
+                        return PurchaseStatus.INVALID_OFFER;
+                    }
+                    required[ordinal] = Math.addExact(required[ordinal], Math.multiplyExact(amounts[i], quantity));
+                }
+
+                long itemCount = Math.multiplyExact((long) offer.item().getCount(), quantity);
+                int batch = findDelivery(deliveries, offer.item());
+                if (batch < 0) {
+                    deliveryCounts[deliveries.size()] = itemCount;
+                    deliveries.add(offer.item());
+                } else {
+                    deliveryCounts[batch] = Math.addExact(deliveryCounts[batch], itemCount);
+                }
+            }
+        } catch (ArithmeticException ex) {
+            return PurchaseStatus.INVALID_QUANTITY;
         }
 
-        Map<ResourceLocation, Integer> requiredTotals = new HashMap<>();
-        for (Config.PriceRequirement requirement : offer.prices()) {
-            int requiredTotal = requirement.price() * quantity;
-            if (requiredTotal <= 0) {
-                return false;
+        return ledger.withdraw(required) ? PurchaseStatus.SUCCESS : PurchaseStatus.INSUFFICIENT_FUNDS;
+    }
+
+    private static int findDelivery(List<ItemStack> deliveries, ItemStack item) {
+        for (int i = 0; i < deliveries.size(); i++) {
+            if (ItemStack.isSameItemSameComponents(deliveries.get(i), item)) {
+                return i;
             }
-            requiredTotals.merge(requirement.currency().id(), requiredTotal, Integer::sum);
         }
+        return -1;
+    }
 
-        Map<ResourceLocation, Integer> updatedCounts = new HashMap<>();
-        for (Map.Entry<ResourceLocation, Integer> entry : requiredTotals.entrySet()) {
-            int available = getCurrencyCount(entry.getKey());
-            int requiredTotal = entry.getValue();
-            if (available < requiredTotal) {
-                return false;
+    // Hands over the items in stacks no larger than the item allows, dropping whatever does not fit.
+    private static void deliver(ItemStack template, long count, Player player) {
+        int maxStackSize = Math.max(1, template.getMaxStackSize());
+        long remaining = count;
+        while (remaining > 0) {
+            ItemStack delivery = template.copyWithCount((int) Math.min(remaining, maxStackSize));
+            remaining -= delivery.getCount();
+            boolean fullyAdded = player.addItem(delivery);
+            if (!fullyAdded && !delivery.isEmpty()) {
+                player.drop(delivery, false);
             }
-            updatedCounts.put(entry.getKey(), available - requiredTotal);
         }
+    }
 
-        updatedCounts.forEach(this::setCurrencyCount);
-        ItemStack delivery = offer.item().copy();
-        delivery.setCount(offer.item().getCount() * quantity);
-        boolean fullyAdded = player.addItem(delivery);
-        if (!fullyAdded && !delivery.isEmpty()) {
-            player.drop(delivery, false);
+    // Called before a player harvest removes the shop, so onRemove holds the balance back for the drop path.
+    void keepLedgerForDrop() {
+        ledgerLeavesWithItem = true;
+        ledgerDropConfirmed = false;
+    }
+
+    // The removal did not go through; later removals drop the balance as usual.
+    void cancelLedgerDrop() {
+        ledgerLeavesWithItem = false;
+        ledgerDropConfirmed = false;
+    }
+
+    // Called after the harvest drops were handled. Falls back to a vault unless an item carrying the balance was
+    // actually spawned; doTileDrops=false, a cancelled drop or a loot table that no longer copies the component all
+    // end up here.
+    void settleLedgerDrop(Level level, BlockPos pos) {
+        if (!ledgerLeavesWithItem) {
+            return;
+        }
+        boolean carried = ledgerDropConfirmed;
+        cancelLedgerDrop();
+        if (carried) {
+            ledger().clear();
+        } else {
+            dropCurrency(level, pos);
         }
-        setChanged();
-        return true;
     }
 
-    public void dropCurrency(Level level, BlockPos pos) {
-        SimpleContainer container = new SimpleContainer(1);
-        for (Map.Entry<ResourceLocation, Integer> entry : currencyCounts.entrySet()) {
-            Item currency = BuiltInRegistries.ITEM.getOptional(entry.getKey()).orElse(Items.EMERALD);
-            int remaining = entry.getValue();
-            while (remaining > 0) {
-                int dropAmount = Math.min(remaining, currency.getDefaultMaxStackSize());
-                container.setItem(0, new ItemStack(currency, dropAmount));
-                Containers.dropContents(level, pos, container);
-                remaining -= dropAmount;
+    // Runs last, after loot modifiers and other listeners have had their say about the drops.
+    public static void onBlockDrops(BlockDropsEvent event) {
+        if (!(event.getBlockEntity() instanceof ShopBlockEntity shop) || !shop.ledgerLeavesWithItem
+                || event.isCanceled() || !event.getLevel().getGameRules().getBoolean(GameRules.RULE_DOBLOCKDROPS)) {
+            return;
+        }
+        for (ItemEntity drop : event.getDrops()) {
+            if (drop.getItem().has(AwesomeShop.SHOP_LEDGER.get())) {
+                shop.ledgerDropConfirmed = true;
+                return;
             }
         }
-        currencyCounts.clear();
     }
 
-    public int getCurrencyCount(ConfiguredCurrency currency) {
+    // Hands the balance over as a single currency vault, so removing a rich shop costs one entity however large
+    // the balance is. Nothing drops if the shop's own block item is carrying the balance.
+    public void dropCurrency(Level level, BlockPos pos) {
+        CurrencyLedger ledger = ledger();
+        if (ledgerLeavesWithItem || ledger.isEmpty()) {
+            return;
+        }
+        ItemStack vault = new ItemStack(AwesomeShop.CURRENCY_VAULT.get());
+        vault.set(AwesomeShop.SHOP_LEDGER.get(), ShopLedgerContents.of(ledger));
+        Containers.dropItemStack(level, pos.getX(), pos.getY(), pos.getZ(), vault);
+        ledger.clear();
+    }
+
+    // Credits a balance carried by an item, such as a currency vault, to this shop.
+    void depositLedger(ShopLedgerContents contents) {
+        CurrencyLedger ledger = ledger();
+        contents.balances().forEach((id, amount) -> {
+            ledger.credit(id, amount);
+            Item currency = BuiltInRegistries.ITEM.getOptional(id).orElse(null);
+            if (level != null && currency != null) {
+                TransactionJournal.recordDeposit(level, worldPosition, currency, amount);
+            }
+        });
+        ShopDirtyTracker.markDirty(this);
+    }
+
+    public long getCurrencyCount(ConfiguredCurrency currency) {
         return getCurrencyCount(currency.id());
     }
 
-    public int getCurrencyCount(ResourceLocation id) {
-        return currencyCounts.getOrDefault(id, 0);
+    public long getCurrencyCount(ResourceLocation id) {
+        return ledger().get(id);
     }
 
-    private void addCurrency(ConfiguredCurrency currency, int count) {
-        if (count > 0 && currency != null) {
-            setCurrencyCount(currency.id(), getCurrencyCount(currency) + count);
+    long getLedgerRevision() {
+        return ledger().revision();
+    }
+
+    ItemStack insertCurrency(ItemStack stack, boolean simulate) {
+        long probe = ShopProfiler.begin();
+        try {
+            CurrencyLedger ledger = ledger();
+            int ordinal = ledger.table().slotOf(stack.getItem());
+            if (ordinal < 0) {
+                return stack;
+            }
+
+            int accepted = (int) Math.min(stack.getCount(), ledger.headroom(ordinal));
+            if (accepted <= 0) {
+                return stack;
+            }
+            if (!simulate && ledger.deposit(ordinal, accepted)) {
+                onDeposited(stack.getItem(), accepted);
+            }
+            return accepted == stack.getCount() ? ItemStack.EMPTY : stack.copyWithCount(stack.getCount() - accepted);
+        } finally {
+            ShopProfiler.end(probe);
         }
     }
 
-    private void setCurrencyCount(ResourceLocation id, int count) {
-        currencyCounts.put(id, Math.max(0, count));
-        setChanged();
+    boolean isCurrency(ItemStack stack) {
+        return currencyTable().slotOf(stack.getItem()) >= 0;
+    }
+
+    private CurrencyLedger ledger() {
+        ledger.bind(currencyTable());
+        if (undecodedLedger != null) {
+            CompoundTag raw = undecodedLedger;
+            undecodedLedger = null;
+            decodeLedger(raw);
+        }
+        return ledger;
     }
 
+    // Balances are written keyed by currency id, since this tag also ends up in structure files and pick-block copies
+    // that may be loaded into another world. Chunk saves swap that for palette indices in onChunkSave. A shop nothing
+    // has touched since it loaded writes its tags back as read, whatever the format, so the common chunk save never
+    // builds the id strings; a structure copy of such a shop keeps the compact form it was loaded with.
     @Override
     protected void saveAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.saveAdditional(tag, provider);
-        ListTag currencyList = new ListTag();
-        for (Map.Entry<ResourceLocation, Integer> entry : currencyCounts.entrySet()) {
-            CompoundTag currencyTag = new CompoundTag();
-            currencyTag.putString(CURRENCY_ID_TAG, entry.getKey().toString());
-            currencyTag.putInt(CURRENCY_COUNT_TAG, entry.getValue());
-            currencyList.add(currencyTag);
+        if (undecodedLedger != null) {
+            for (String key : undecodedLedger.getAllKeys()) {
+                tag.put(key, undecodedLedger.get(key));
+            }
+            return;
         }
+        ListTag currencyList = new ListTag();
+        ledger().forEach((id, amount) -> addCurrency(currencyList, id, amount));
         tag.put(CURRENCIES_TAG, currencyList);
     }
 
+    private static void addCurrency(ListTag currencyList, ResourceLocation id, long amount) {
+        CompoundTag currencyTag = new CompoundTag();
+        currencyTag.putString(CURRENCY_ID_TAG, id.toString());
+        currencyTag.putLong(CURRENCY_COUNT_TAG, amount);
+        currencyList.add(currencyTag);
+    }
+
+    // Rewrites the ledger of every shop in a chunk being saved as palette index and amount pairs in one long array.
+    // Runs on the server thread after the chunk is serialized, and only reads the palette, so nothing in it can
+    // change between writing the palette and writing the chunk.
+    public static void onChunkSave(ChunkDataEvent.Save event) {
+        CurrencyPalette palette = CurrencyPalette.get(event.getLevel());
+        if (palette == null) {
+            return;
+        }
+        String type = AwesomeShop.SHOP_BLOCK_ENTITY.getId().toString();
+        ListTag entities = event.getData().getList("block_entities", Tag.TAG_COMPOUND);
+        for (int i = 0; i < entities.size(); i++) {
+            CompoundTag entityTag = entities.getCompound(i);
+            if (!type.equals(entityTag.getString("id"))) {
+                continue;
+            }
+            BlockPos pos = BlockEntity.getPosFromTag(entityTag);
+            if (event.getChunk().getBlockEntity(pos) instanceof ShopBlockEntity shop) {
+                shop.writeCompactLedger(entityTag, palette);
+            }
+        }
+    }
+
+    // Leaves the tag alone when saveAdditional already wrote the shop's tags as loaded, or when a currency is missing
+    // from the saved palette.
+    private void writeCompactLedger(CompoundTag tag, CurrencyPalette palette) {
+        if (undecodedLedger != null) {
+            return;
+        }
+        long[] packed = ledger().encode(palette);
+        if (packed == null) {
+            return;
+        }
+        for (String key : LEDGER_TAGS) {
+            tag.remove(key);
+        }
+        tag.putLongArray(LEDGER_TAG, packed);
+    }
+
     @Override
     protected void loadAdditional(CompoundTag tag, HolderLookup.Provider provider) {
         super.loadAdditional(tag, provider);
-        currencyCounts.clear();
-        if (tag.contains(CURRENCIES_TAG, Tag.TAG_LIST)) {
+        ledger.clear();
+        CompoundTag raw = new CompoundTag();
+        for (String key : LEDGER_TAGS) {
+            Tag value = tag.get(key);
+            if (value != null) {
+                raw.put(key, value);
+            }
+        }
+        undecodedLedger = raw.isEmpty() ? null : raw;
+    }
+
+    // Expects the ledger to be bound to the current table already.
+    private void decodeLedger(CompoundTag tag) {
+        CurrencyPalette palette = tag.contains(LEDGER_TAG, Tag.TAG_LONG_ARRAY) ? CurrencyPalette.get(level) : null;
+        if (palette != null) {
+            ledger.decode(tag.getLongArray(LEDGER_TAG), palette);
+        } else if (tag.contains(CURRENCIES_TAG, Tag.TAG_LIST)) {
             ListTag list = tag.getList(CURRENCIES_TAG, Tag.TAG_COMPOUND);
             list.forEach(entry -> {
                 if (entry instanceof CompoundTag currencyTag) {
                     ResourceLocation id = ResourceLocation.tryParse(currencyTag.getString(CURRENCY_ID_TAG));
-                    int count = currencyTag.getInt(CURRENCY_COUNT_TAG);
+                    long count = currencyTag.getLong(CURRENCY_COUNT_TAG);
                     if (id != null) {
-                        currencyCounts.put(id, count);
+                        ledger.put(id, count);
                     }
                 }
             });
         } else if (tag.contains(CURRENCY_COUNT_TAG)) {
-            int count = tag.getInt(CURRENCY_COUNT_TAG);
-            Config.getConfiguredCurrencies().stream().findFirst()
-                    .ifPresent(currency -> currencyCounts.put(currency.id(), count));
+            long count = tag.getLong(CURRENCY_COUNT_TAG);
+            if (ledger.table().size() > 0) {
+                ledger.put(ledger.table().get(0).id(), count);
+            }
+        }
+    }
+
+    // The balance only goes onto an item when the shop itself is being harvested; pick-block copies and other
+    // drops would otherwise duplicate it.
+    @Override
+    protected void collectImplicitComponents(DataComponentMap.Builder components) {
+        super.collectImplicitComponents(components);
+        if (ledgerLeavesWithItem && !ledger().isEmpty()) {
+            components.set(AwesomeShop.SHOP_LEDGER.get(), ShopLedgerContents.of(ledger()));
+        }
+    }
+
+    @Override
+    protected void applyImplicitComponents(BlockEntity.DataComponentInput components) {
+        super.applyImplicitComponents(components);
+        ShopLedgerContents contents = components.get(AwesomeShop.SHOP_LEDGER.get());
+        if (contents != null) {
+            CurrencyLedger ledger = ledger();
+            ledger.clear();
+            contents.balances().forEach(ledger::put);
         }
     }
 
     // WorldlyContainer implementation
     @Override
     public int[] getSlotsForFace(Direction side) {
-        int size = Math.max(1, Config.getConfiguredCurrencies().size());
-        int[] slots = new int[size];
-        for (int i = 0; i < size; i++) {
-            slots[i] = i;
-        }
-        return slots;
+        return currencyTable().slots();
     }
 
     @Override
     public boolean canPlaceItemThroughFace(int index, ItemStack stack, Direction direction) {
-        List<ConfiguredCurrency> currencies = Config.getConfiguredCurrencies();
-        if (index < 0 || index >= currencies.size()) {
-            return false;
-        }
-        return stack.is(currencies.get(index).item());
+        return currencyTable().accepts(index, stack);
     }
 
     @Override
@@ -184,7 +425,7 @@ public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, Me
 
     @Override
     public int getContainerSize() {
-        return Math.max(1, Config.getConfiguredCurrencies().size());
+        return currencyTable().containerSize();
     }
 
     @Override
@@ -194,7 +435,7 @@ public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, Me
 
     @Override
     public boolean isEmpty() {
-        return currencyCounts.values().stream().allMatch(count -> count <= 0);
+        return ledger().isEmpty();
     }
 
     @Override
@@ -214,12 +455,21 @@ public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, Me
 
     @Override
     public void setItem(int index, ItemStack stack) {
-        List<ConfiguredCurrency> currencies = Config.getConfiguredCurrencies();
-        if (index >= 0 && index < currencies.size()) {
-            ConfiguredCurrency currency = currencies.get(index);
-            if (stack.is(currency.item())) {
-                addCurrency(currency, stack.getCount());
+        long probe = ShopProfiler.begin();
+        try {
+            CurrencyLedger ledger = ledger();
+            if (ledger.table().accepts(index, stack) && ledger.deposit(index, stack.getCount())) {
+                onDeposited(stack.getItem(), stack.getCount());
             }
+        } finally {
+            ShopProfiler.end(probe);
+        }
+    }
+
+    private void onDeposited(Item currency, long amount) {
+        ShopDirtyTracker.markDirty(this);
+        if (level != null) {
+            TransactionJournal.recordDeposit(level, worldPosition, currency, amount);
         }
     }
 
@@ -234,16 +484,14 @@ public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, Me
 
     @Override
     public void clearContent() {
-        currencyCounts.clear();
+        undecodedLedger = null;
+        ledger.clear();
     }
 
     @Override
     public boolean canPlaceItem(int index, ItemStack stack) {
-        List<ConfiguredCurrency> currencies = Config.getConfiguredCurrencies();
-        if (index < 0 || index >= currencies.size()) {
-            return false;
-        }
-        return stack.is(currencies.get(index).item());
+        CurrencyLedger ledger = ledger();
+        return ledger.table().accepts(index, stack) && ledger.headroom(index) >= stack.getCount();
     }
 
     @Override
@@ -253,14 +501,15 @@ public class ShopBlockEntity extends BlockEntity implements WorldlyContainer, Me
 
     @Override
     public ShopMenu createMenu(int id, Inventory inventory, Player player) {
-        return new ShopMenu(id, inventory, this, Config.getConfiguredOffers());
+        return new ShopMenu(id, inventory, this, Config.getCatalog());
+    }
+
+    private static CurrencyTable currencyTable() {
+        return Config.getCatalog().currencyTable();
     }
 
     @Nullable
     public IItemHandler getItemHandler(@Nullable Direction direction) {
-        if (direction == null) {
-            return unsidedHandler;
-        }
-        return sidedHandlers.get(direction);
+        return itemHandler;
     }
 }
@@ -0,0 +1,56 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+// Collects shops whose ledger changed during a tick and marks each one changed once at the end of the tick,
+// instead of paying for chunk, neighbour and comparator updates on every single insertion.
+public final class ShopDirtyTracker {
+    private static final ReferenceOpenHashSet<ShopBlockEntity> PENDING = new ReferenceOpenHashSet<>();
+    private static long requestedCount;
+    private static long flushedCount;
+
+    private ShopDirtyTracker() {
+    }
+
+    static void markDirty(ShopBlockEntity shop) {
+        requestedCount++;
+        PENDING.add(shop);
+    }
+
+    public static void onServerTick(ServerTickEvent.Post event) {
+        flush();
+    }
+
+    public static void onServerStopping(ServerStoppingEvent event) {
+        flush();
+    }
+
+    private static void flush() {
+        if (PENDING.isEmpty()) {
+            return;
+        }
+        long probe = ShopProfiler.begin();
+        for (ShopBlockEntity shop : PENDING) {
+            if (!shop.isRemoved()) {
+                shop.setChanged();
+                flushedCount++;
+            }
+        }
+        PENDING.clear();
+        ShopProfiler.end(probe);
+    }
+
+    public static long requestedCount() {
+        return requestedCount;
+    }
+
+    public static long flushedCount() {
+        return flushedCount;
+    }
+
+    public static long avoidedCount() {
+        return requestedCount - flushedCount;
+    }
+}
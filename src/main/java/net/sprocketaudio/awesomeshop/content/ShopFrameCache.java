@@ -0,0 +1,89 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
+
+// Off-screen copy of the parts of the shop screen that only change on scroll, resize, category or style changes.
+// The target matches the window framebuffer, so the usual GUI projection and scissor coordinates apply unchanged
+// while drawing into it, and the whole layer comes back as one textured quad.
+final class ShopFrameCache {
+    @Nullable
+    private RenderTarget target;
+    private boolean valid;
+
+    void invalidate() {
+        valid = false;
+    }
+
+    // Returns true when the static layer has to be redrawn; the caller draws it and then calls end.
+    boolean begin(GuiGraphics graphics) {
+        Window window = Minecraft.getInstance().getWindow();
+        int width = window.getWidth();
+        int height = window.getHeight();
+        if (target == null) {
+            target = new TextureTarget(width, height, true, Minecraft.ON_OSX);
+            target.setClearColor(0, 0, 0, 0);
+            valid = false;
+        } else if (target.width != width || target.height != height) {
+            target.resize(width, height, Minecraft.ON_OSX);
+            valid = false;
+        }
+        if (valid) {
+            return false;
+        }
+        graphics.flush();
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+        return true;
+    }
+
+    void end(GuiGraphics graphics) {
+        graphics.flush();
+        Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+        valid = true;
+    }
+
+    // The layer was drawn over transparent black, so its colours are already multiplied by alpha.
+    void blit(GuiGraphics graphics) {
+        if (target == null || !valid) {
+            return;
+        }
+        Matrix4f pose = graphics.pose().last().pose();
+        float width = graphics.guiWidth();
+        float height = graphics.guiHeight();
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        BufferBuilder buffer = Tesselator.getInstance()
+                .begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        buffer.addVertex(pose, 0, 0, 0).setUv(0, 1);
+        buffer.addVertex(pose, 0, height, 0).setUv(0, 0);
+        buffer.addVertex(pose, width, height, 0).setUv(1, 0);
+        buffer.addVertex(pose, width, 0, 0).setUv(1, 1);
+        BufferUploader.drawWithShader(buffer.buildOrThrow());
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    void close() {
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+        }
+        valid = false;
+    }
+}
@@ -0,0 +1,47 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.items.IItemHandler;
+
+// Insert-only view of a shop for pipes and hoppers. Every slot accepts a whole stack of any configured currency
+// regardless of its size, and simulated inserts that fit completely return the shared empty stack.
+public class ShopItemHandler implements IItemHandler {
+    private final ShopBlockEntity shop;
+
+    public ShopItemHandler(ShopBlockEntity shop) {
+        this.shop = shop;
+    }
+
+    @Override
+    public int getSlots() {
+        return shop.getContainerSize();
+    }
+
+    @Override
+    public ItemStack getStackInSlot(int slot) {
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public ItemStack insertItem(int slot, ItemStack stack, boolean simulate) {
+        if (stack.isEmpty() || slot < 0 || slot >= getSlots()) {
+            return stack;
+        }
+        return shop.insertCurrency(stack, simulate);
+    }
+
+    @Override
+    public ItemStack extractItem(int slot, int amount, boolean simulate) {
+        return ItemStack.EMPTY;
+    }
+
+    @Override
+    public int getSlotLimit(int slot) {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isItemValid(int slot, ItemStack stack) {
+        return slot >= 0 && slot < getSlots() && shop.isCurrency(stack);
+    }
+}
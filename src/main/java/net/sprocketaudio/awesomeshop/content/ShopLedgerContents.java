@@ -0,0 +1,34 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.mojang.serialization.Codec;
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.resources.ResourceLocation;
+
+// A shop balance carried by an item: the dropped shop block or a currency vault. Keyed by currency id rather than
+// the save's palette, since items can travel between worlds.
+public record ShopLedgerContents(Map<ResourceLocation, Long> balances) {
+    public static final Codec<ShopLedgerContents> CODEC = Codec.unboundedMap(ResourceLocation.CODEC, Codec.LONG)
+            .xmap(ShopLedgerContents::new, ShopLedgerContents::balances);
+    public static final StreamCodec<ByteBuf, ShopLedgerContents> STREAM_CODEC = ByteBufCodecs
+            .map(HashMap::new, ResourceLocation.STREAM_CODEC, ByteBufCodecs.VAR_LONG)
+            .map(ShopLedgerContents::new, ShopLedgerContents::balances);
+
+    public ShopLedgerContents {
+        balances = Map.copyOf(balances);
+    }
+
+    static ShopLedgerContents of(CurrencyLedger ledger) {
+        Map<ResourceLocation, Long> balances = new HashMap<>();
+        ledger.forEach(balances::put);
+        return new ShopLedgerContents(balances);
+    }
+
+    public boolean isEmpty() {
+        return balances.isEmpty();
+    }
+}
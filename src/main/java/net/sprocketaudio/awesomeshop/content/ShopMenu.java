@@ -1,218 +1,393 @@
 package net.sprocketaudio.awesomeshop.content;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.function.IntSupplier;
+import java.util.function.IntToLongFunction;
 
 import net.minecraft.core.BlockPos;
-import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.RegistryFriendlyByteBuf;
-import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ContainerLevelAccess;
-import net.minecraft.world.inventory.DataSlot;
-import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.level.Level;
+import net.neoforged.neoforge.network.PacketDistributor;
 import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
 import net.sprocketaudio.awesomeshop.Config;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
-import net.sprocketaudio.awesomeshop.Config.PriceRequirement;
+import net.sprocketaudio.awesomeshop.network.BalanceSyncPayload;
+import net.sprocketaudio.awesomeshop.network.CatalogCodec;
+import net.sprocketaudio.awesomeshop.network.CatalogPayload;
+import net.sprocketaudio.awesomeshop.network.CatalogRequestPayload;
+import net.sprocketaudio.awesomeshop.network.CheckoutRequestPayload;
+import net.sprocketaudio.awesomeshop.network.PurchaseRequestPayload;
+import org.jetbrains.annotations.Nullable;
 
 public class ShopMenu extends AbstractContainerMenu {
+    public static final int MAX_CART_LINES = 64;
+
+    // Set by the client entry point, so this class never references client-only code. Dedicated servers never build
+    // a menu from screen data, so the default is only a fallback.
+    private static CatalogLookup cachedCatalogs = (hash, version) -> null;
+
     private final ContainerLevelAccess access;
     private final ShopBlockEntity shop;
-    private final List<ConfiguredOffer> offers;
-    private final List<ConfiguredCurrency> currencies;
-    private final List<String> categories;
-    private final Map<ResourceLocation, Integer> currencyIndex;
-    private final int[] currencyCounts;
-
-    private final IntSupplier offerCountLookup;
+    private final Player player;
+    private long[] currencyCounts;
+    private long[] currencyRevisions;
+    private long balanceRevision;
+    private long syncedLedgerRevision = -1;
+    private long syncedGameTime = Long.MIN_VALUE;
+    private int lastPurchaseRequestId;
+    private int lastPurchaseResultId;
+    @Nullable
+    private PurchaseStatus lastPurchaseStatus;
+    private CatalogSnapshot catalog;
+    private long pendingCatalogHash;
+    private boolean catalogPending;
+    private boolean catalogSent;
 
     public ShopMenu(int id, Inventory inventory, RegistryFriendlyByteBuf data) {
         this(id, inventory, decodeData(inventory.player.level(), data));
     }
 
-    public ShopMenu(int id, Inventory inventory, ShopBlockEntity shop, List<ConfiguredOffer> offers) {
-        this(id, inventory, shop, Config.getConfiguredCategories(), Config.getConfiguredCurrencies(), offers);
+    private ShopMenu(int id, Inventory inventory, MenuData data) {
+        this(id, inventory, data.shop(), data.catalog(), data.currencySlots());
+        if (data.catalog() == null) {
+            this.pendingCatalogHash = data.catalogHash();
+            this.catalogPending = true;
+            PacketDistributor.sendToServer(new CatalogRequestPayload(id, data.catalogHash()));
+        }
     }
 
-    private ShopMenu(int id, Inventory inventory, MenuData data) {
-        this(id, inventory, data.shop(), data.categories(), data.currencies(), data.offers());
+    public ShopMenu(int id, Inventory inventory, ShopBlockEntity shop, CatalogSnapshot catalog) {
+        this(id, inventory, shop, catalog, catalog.currencies().size());
     }
 
-    private ShopMenu(int id, Inventory inventory, ShopBlockEntity shop, List<String> categories,
-            List<ConfiguredCurrency> currencies, List<ConfiguredOffer> offers) {
+    private ShopMenu(int id, Inventory inventory, ShopBlockEntity shop, CatalogSnapshot catalog, int currencySlots) {
         super(AwesomeShop.SHOP_MENU.get(), id);
         this.shop = shop;
-        this.offers = List.copyOf(offers);
-        this.currencies = List.copyOf(currencies);
-        this.categories = List.copyOf(categories);
-        this.currencyIndex = createCurrencyIndex(this.currencies);
-        this.currencyCounts = new int[this.currencies.size()];
+        this.player = inventory.player;
+        this.catalog = catalog == null ? CatalogSnapshot.EMPTY : catalog;
+        this.currencyCounts = new long[currencySlots];
+        this.currencyRevisions = new long[currencySlots];
         this.access = shop == null ? ContainerLevelAccess.NULL : ContainerLevelAccess.create(shop.getLevel(), shop.getBlockPos());
-        this.offerCountLookup = () -> this.offers.size();
+    }
 
-        for (int i = 0; i < this.currencies.size(); i++) {
-            final int slotIndex = i;
-            addDataSlot(new DataSlot() {
-                @Override
-                public int get() {
-                    if (ShopMenu.this.shop != null) {
-                        return ShopMenu.this.shop.getCurrencyCount(ShopMenu.this.currencies.get(slotIndex));
-                    }
-                    return 0;
-                }
+    private static MenuData decodeData(Level level, RegistryFriendlyByteBuf data) {
+        ScreenData screenData = readScreenData(data);
+        ShopBlockEntity shop = level.getBlockEntity(screenData.pos()) instanceof ShopBlockEntity be ? be : null;
+        return new MenuData(shop, cachedCatalogs.find(screenData.catalogHash(), screenData.catalogVersion()),
+                screenData.catalogHash(), screenData.currencySlots());
+    }
 
-                @Override
-                public void set(int value) {
-                    if (slotIndex < currencyCounts.length) {
-                        currencyCounts[slotIndex] = value;
-                    }
-                }
-            });
-        }
+    public static void setCachedCatalogLookup(CatalogLookup lookup) {
+        cachedCatalogs = Objects.requireNonNull(lookup);
     }
 
-    private static MenuData decodeData(Level level, RegistryFriendlyByteBuf data) {
-        ShopBlockEntity shop = readShopFromClient(level, data);
-        List<String> categories = readCategories(data);
-        List<ConfiguredCurrency> currencies = readCurrencies(data);
-        Map<ResourceLocation, ConfiguredCurrency> currencyLookup = buildCurrencyLookup(currencies);
-        List<ConfiguredOffer> offers = readOffers(data, categories, currencyLookup);
-        return new MenuData(shop, categories, currencies, offers);
+    @FunctionalInterface
+    public interface CatalogLookup {
+        @Nullable
+        CatalogSnapshot find(long hash, long version);
     }
 
-    private static ShopBlockEntity readShopFromClient(Level level, RegistryFriendlyByteBuf data) {
+    static ScreenData readScreenData(RegistryFriendlyByteBuf data) {
         BlockPos pos = data.readBlockPos();
-        return level.getBlockEntity(pos) instanceof ShopBlockEntity be ? be : null;
+        long version = data.readVarLong();
+        long hash = data.readLong();
+        int currencySlots = data.readVarInt();
+        return new ScreenData(pos, version, hash, currencySlots);
     }
 
-    private static List<String> readCategories(RegistryFriendlyByteBuf data) {
-        return data.readList(buf -> buf.readUtf());
+    record ScreenData(BlockPos pos, long catalogVersion, long catalogHash, int currencySlots) {
     }
 
-    private static List<ConfiguredCurrency> readCurrencies(RegistryFriendlyByteBuf data) {
-        return data.readList(buf -> {
-            ResourceLocation id = buf.readResourceLocation();
-            Item item = BuiltInRegistries.ITEM.getOptional(id).orElse(Items.EMERALD);
-            return new ConfiguredCurrency(id, item);
-        });
+    private record MenuData(ShopBlockEntity shop, CatalogSnapshot catalog, long catalogHash, int currencySlots) {
     }
 
-    private static Map<ResourceLocation, ConfiguredCurrency> buildCurrencyLookup(List<ConfiguredCurrency> currencies) {
-        Map<ResourceLocation, ConfiguredCurrency> lookup = new HashMap<>();
-        for (ConfiguredCurrency currency : currencies) {
-            lookup.put(currency.id(), currency);
+    public CatalogSnapshot getCatalog() {
+        return catalog;
+    }
+
+    public boolean isCatalogPending() {
+        return catalogPending;
+    }
+
+    public void acceptCatalog(long hash, CatalogSnapshot received) {
+        if (catalogPending && hash == pendingCatalogHash) {
+            catalog = received;
+            catalogPending = false;
         }
-        if (lookup.isEmpty()) {
-            ConfiguredCurrency fallback = new ConfiguredCurrency(ResourceLocation.parse("minecraft:emerald"), Items.EMERALD);
-            lookup.put(fallback.id(), fallback);
+    }
+
+    public void sendCatalog(ServerPlayer player, long requestedHash) {
+        if (catalogSent) {
+            return;
         }
-        return lookup;
+        catalogSent = true;
+        CatalogCodec.EncodedCatalog encoded = CatalogCodec.encode(catalog, player.registryAccess());
+        if (encoded.hash() != requestedHash) {
+            AwesomeShop.LOGGER.debug("Client requested shop catalog {} but the menu holds {}.",
+                    Long.toHexString(requestedHash), Long.toHexString(encoded.hash()));
+        }
+        PacketDistributor.sendToPlayer(player, new CatalogPayload(containerId, catalog.version(), encoded.hash(),
+                encoded.data()));
     }
 
-    private static List<ConfiguredOffer> readOffers(RegistryFriendlyByteBuf data, List<String> categories,
-            Map<ResourceLocation, ConfiguredCurrency> currencyLookup) {
-        return data.readList(buf -> {
-            ItemStack stack = ItemStack.STREAM_CODEC.decode((RegistryFriendlyByteBuf) buf);
-            int requirementCount = ((RegistryFriendlyByteBuf) buf).readVarInt();
-            List<PriceRequirement> prices = new ArrayList<>();
-            for (int i = 0; i < requirementCount; i++) {
-                ResourceLocation currencyId = ((RegistryFriendlyByteBuf) buf).readResourceLocation();
-                int price = ((RegistryFriendlyByteBuf) buf).readVarInt();
-                ConfiguredCurrency currency = currencyLookup.get(currencyId);
-                if (currency != null && price > 0) {
-                    prices.add(new PriceRequirement(currency, price));
-                }
-            }
+    public List<ConfiguredOffer> getOffers() {
+        return catalog.offers();
+    }
 
-            if (prices.isEmpty()) {
-                ConfiguredCurrency fallback = currencyLookup.values().stream().findFirst()
-                        .orElse(new ConfiguredCurrency(ResourceLocation.parse("minecraft:emerald"), Items.EMERALD));
-                prices.add(new PriceRequirement(fallback, 1));
-            }
+    public List<ConfiguredCurrency> getCurrencies() {
+        return catalog.currencies();
+    }
 
-            String category = ((RegistryFriendlyByteBuf) buf).readUtf();
-            if (!categories.contains(category) && !categories.isEmpty()) {
-                category = categories.get(0);
-            }
+    public List<String> getCategories() {
+        return catalog.categories();
+    }
 
-            return new ConfiguredOffer(stack, prices, category);
-        });
+    // Bumped whenever a balance sync arrives, so the screen can skip recomputing affordability between updates.
+    public long getBalanceRevision() {
+        return balanceRevision;
     }
 
-    private static Map<ResourceLocation, Integer> createCurrencyIndex(List<ConfiguredCurrency> currencies) {
-        Map<ResourceLocation, Integer> lookup = new HashMap<>();
-        for (int i = 0; i < currencies.size(); i++) {
-            lookup.put(currencies.get(i).id(), i);
+    public void applyBalances(int[] ordinals, long[] balances) {
+        balanceRevision++;
+        for (int i = 0; i < ordinals.length; i++) {
+            int ordinal = ordinals[i];
+            if (ordinal < 0) {
+                continue;
+            }
+            if (ordinal >= currencyCounts.length) {
+                currencyCounts = Arrays.copyOf(currencyCounts, ordinal + 1);
+                currencyRevisions = Arrays.copyOf(currencyRevisions, ordinal + 1);
+            }
+            currencyCounts[ordinal] = balances[i];
+            currencyRevisions[ordinal] = balanceRevision;
         }
-        return lookup;
     }
 
-    private record MenuData(ShopBlockEntity shop, List<String> categories, List<ConfiguredCurrency> currencies,
-            List<ConfiguredOffer> offers) {
+    // Whether a sync after the given balance revision touched this currency.
+    public boolean hasBalanceChangedSince(int ordinal, long revision) {
+        return ordinal >= 0 && ordinal < currencyRevisions.length && currencyRevisions[ordinal] > revision;
     }
 
-    public List<ConfiguredOffer> getOffers() {
-        return offers;
+    @Override
+    public void broadcastChanges() {
+        super.broadcastChanges();
+        syncBalances(false);
     }
 
-    public List<ConfiguredCurrency> getCurrencies() {
-        return currencies;
+    @Override
+    public void sendAllDataToRemote() {
+        super.sendAllDataToRemote();
+        syncBalances(true);
     }
 
-    public List<String> getCategories() {
-        return categories;
+    // Sends the balances that differ from what the client last saw, at most once per tick. When the shop's ledger
+    // revision is unchanged this is a single comparison.
+    private void syncBalances(boolean full) {
+        long probe = ShopProfiler.begin();
+        try {
+            sendBalanceChanges(full);
+        } finally {
+            ShopProfiler.end(probe);
+        }
     }
 
-    public int getCurrencyCount(ConfiguredCurrency currency) {
-        Integer index = currencyIndex.get(currency.id());
-        if (index == null) {
+    private void sendBalanceChanges(boolean full) {
+        if (shop == null || !(player instanceof ServerPlayer serverPlayer)) {
+            return;
+        }
+        long revision = shop.getLedgerRevision();
+        long gameTime = serverPlayer.level().getGameTime();
+        if (!full && (revision == syncedLedgerRevision || gameTime == syncedGameTime)) {
+            return;
+        }
+        syncedLedgerRevision = revision;
+        syncedGameTime = gameTime;
+
+        List<ConfiguredCurrency> currencies = catalog.currencies();
+        int changed = 0;
+        for (int i = 0; i < currencies.size(); i++) {
+            if (full || shop.getCurrencyCount(currencies.get(i)) != currencyCounts[i]) {
+                changed++;
+            }
+        }
+        if (changed == 0) {
+            return;
+        }
+
+        int[] ordinals = new int[changed];
+        long[] balances = new long[changed];
+        int next = 0;
+        for (int i = 0; i < currencies.size(); i++) {
+            long balance = shop.getCurrencyCount(currencies.get(i));
+            if (full || balance != currencyCounts[i]) {
+                currencyCounts[i] = balance;
+                ordinals[next] = i;
+                balances[next] = balance;
+                next++;
+            }
+        }
+        PacketDistributor.sendToPlayer(serverPlayer, new BalanceSyncPayload(containerId, ordinals, balances));
+    }
+
+    public long getCurrencyCount(ConfiguredCurrency currency) {
+        return getBalance(catalog.currencyTable().indexOf(currency.id()));
+    }
+
+    // Balance for an ordinal of this menu's currency table.
+    public long getBalance(int ordinal) {
+        if (ordinal < 0 || ordinal >= catalog.currencyTable().size()) {
             return 0;
         }
         if (shop != null && shop.getLevel() != null && !shop.getLevel().isClientSide) {
-            return shop.getCurrencyCount(currency);
+            return shop.getCurrencyCount(catalog.currencyTable().get(ordinal));
         }
-        if (index >= 0 && index < currencyCounts.length) {
-            return currencyCounts[index];
+        if (ordinal < currencyCounts.length) {
+            return currencyCounts[ordinal];
         }
         return 0;
     }
 
-    @Override
-    public boolean clickMenuButton(Player player, int id) {
-        int offerSize = offerCountLookup.getAsInt();
-        if (shop == null || offerSize <= 0 || id < 0) {
-            return false;
+    public int getMaxAffordable(ConfiguredOffer offer) {
+        return maxAffordable(offer, this::getBalance);
+    }
+
+    // How many units of the offer the balances cover, or 0 if the offer has no valid price. Balances are looked up
+    // by ordinal in the offer's currency table.
+    public static int maxAffordable(ConfiguredOffer offer, IntToLongFunction balances) {
+        int[] ordinals = offer.priceOrdinals();
+        long[] amounts = offer.priceAmounts();
+        if (ordinals.length == 0) {
+            return 0;
         }
+        long maxAffordable = Integer.MAX_VALUE;
+        for (int i = 0; i < ordinals.length; i++) {
+            maxAffordable = Math.min(maxAffordable, Math.max(0L, balances.applyAsLong(ordinals[i])) / amounts[i]);
+        }
+        return (int) maxAffordable;
+    }
+
+    public int requestPurchase(int offerIndex, long quantity) {
+        int requestId = ++lastPurchaseRequestId;
+        PacketDistributor.sendToServer(new PurchaseRequestPayload(containerId, offerIndex, catalog.version(),
+                quantity, requestId));
+        return requestId;
+    }
+
+    public int requestCheckout(int[] offerIndices, long[] quantities) {
+        int requestId = ++lastPurchaseRequestId;
+        PacketDistributor.sendToServer(new CheckoutRequestPayload(containerId, catalog.version(), offerIndices,
+                quantities, requestId));
+        return requestId;
+    }
 
-        int quantity = id / offerSize;
-        int offerIndex = id % offerSize;
-        if (offerIndex >= offers.size() || quantity <= 0) {
-            return false;
+    public PurchaseStatus handlePurchase(ServerPlayer player, int offerIndex, long catalogVersion, long quantity) {
+        PurchaseStatus rejected = validateRequest(player, catalogVersion);
+        if (rejected != null) {
+            return rejected;
+        }
+
+        List<ConfiguredOffer> offers = catalog.offers();
+        if (offerIndex < 0 || offerIndex >= offers.size()) {
+            player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+            return PurchaseStatus.INVALID_OFFER;
+        }
+        if (quantity <= 0 || quantity > Config.MAX_PURCHASE_QUANTITY.get()) {
+            player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+            return PurchaseStatus.INVALID_QUANTITY;
         }
 
         ConfiguredOffer offer = offers.get(offerIndex);
-        if (offer.item().isEmpty()) {
-            return false;
+        PurchaseStatus status = shop.tryPurchase(offer, quantity, player);
+        switch (status) {
+            case SUCCESS -> player.displayClientMessage(Config.purchaseSuccessMessage(offer.item(), quantity), true);
+            case INSUFFICIENT_FUNDS -> player.displayClientMessage(Config.purchaseFailureMessage(offer.item(), offer),
+                    true);
+            default -> player.displayClientMessage(Config.purchaseRejectedMessage(), true);
         }
+        return status;
+    }
 
-        boolean success = shop.tryPurchase(offer, quantity, player);
-        if (success) {
-            player.displayClientMessage(Config.purchaseSuccessMessage(offer.item(), quantity), true);
-        } else {
-            player.displayClientMessage(Config.purchaseFailureMessage(offer.item(), offer), true);
+    public PurchaseStatus handleCheckout(ServerPlayer player, long catalogVersion, int[] offerIndices,
+            long[] quantities) {
+        PurchaseStatus rejected = validateRequest(player, catalogVersion);
+        if (rejected != null) {
+            return rejected;
+        }
+        if (offerIndices.length == 0 || offerIndices.length != quantities.length
+                || offerIndices.length > MAX_CART_LINES) {
+            player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+            return PurchaseStatus.INVALID_QUANTITY;
         }
-        return true;
+
+        List<ConfiguredOffer> offers = catalog.offers();
+        List<ConfiguredOffer> lines = new ArrayList<>(offerIndices.length);
+        int maxQuantity = Config.MAX_PURCHASE_QUANTITY.get();
+        long totalQuantity = 0;
+        for (int i = 0; i < offerIndices.length; i++) {
+            if (offerIndices[i] < 0 || offerIndices[i] >= offers.size()) {
+                player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+                return PurchaseStatus.INVALID_OFFER;
+            }
+            if (quantities[i] <= 0 || quantities[i] > maxQuantity) {
+                player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+                return PurchaseStatus.INVALID_QUANTITY;
+            }
+            lines.add(offers.get(offerIndices[i]));
+            totalQuantity += quantities[i];
+        }
+
+        PurchaseStatus status = shop.tryCheckout(lines, quantities, player);
+        switch (status) {
+            case SUCCESS -> player.displayClientMessage(Config.checkoutSuccessMessage(totalQuantity, lines.size()),
+                    true);
+            case INSUFFICIENT_FUNDS -> player.displayClientMessage(Config.checkoutFailureMessage(), true);
+            default -> player.displayClientMessage(Config.purchaseRejectedMessage(), true);
+        }
+        return status;
+    }
+
+    @Nullable
+    private PurchaseStatus validateRequest(ServerPlayer player, long catalogVersion) {
+        if (shop == null || shop.isRemoved()) {
+            return PurchaseStatus.UNAVAILABLE;
+        }
+        if (!PurchaseRateLimiter.tryAcquire(player, shop)) {
+            return PurchaseStatus.RATE_LIMITED;
+        }
+        if (!stillValid(player)) {
+            return PurchaseStatus.UNAVAILABLE;
+        }
+        if (catalogVersion != catalog.version() || catalogVersion != Config.getCatalog().version()) {
+            player.displayClientMessage(Config.purchaseStaleMessage(), true);
+            return PurchaseStatus.STALE_CATALOG;
+        }
+        return null;
+    }
+
+    public void acceptPurchaseResult(int requestId, PurchaseStatus status) {
+        if (requestId > lastPurchaseResultId) {
+            lastPurchaseResultId = requestId;
+            lastPurchaseStatus = status;
+        }
+    }
+
+    public boolean isPurchasePending() {
+        return lastPurchaseResultId < lastPurchaseRequestId;
+    }
+
+    @Nullable
+    public PurchaseStatus getLastPurchaseStatus() {
+        return lastPurchaseStatus;
     }
 
     @Override
@@ -225,20 +400,14 @@ public class ShopMenu extends AbstractContainerMenu {
         return stillValid(this.access, player, AwesomeShop.SHOP_BLOCK.get());
     }
 
-    public static void writeScreenData(ShopBlockEntity shop, RegistryFriendlyByteBuf buffer) {
-        buffer.writeBlockPos(Objects.requireNonNull(shop).getBlockPos());
-        List<String> categories = Config.getConfiguredCategories();
-        buffer.writeCollection(categories, (buf, category) -> buf.writeUtf(category));
-        List<ConfiguredCurrency> currencies = Config.getConfiguredCurrencies();
-        buffer.writeCollection(currencies, (buf, currency) -> buf.writeResourceLocation(currency.id()));
-        buffer.writeCollection(new ArrayList<>(Config.getConfiguredOffers()), (buf, offer) -> {
-            ItemStack.STREAM_CODEC.encode((RegistryFriendlyByteBuf) buf, offer.item());
-            ((RegistryFriendlyByteBuf) buf).writeVarInt(offer.prices().size());
-            offer.prices().forEach(price -> {
-                ((RegistryFriendlyByteBuf) buf).writeResourceLocation(price.currency().id());
-                ((RegistryFriendlyByteBuf) buf).writeVarInt(price.price());
-            });
-            ((RegistryFriendlyByteBuf) buf).writeUtf(offer.category());
-        });
+    public static void writeScreenData(ShopBlockEntity shop, CatalogSnapshot catalog, RegistryFriendlyByteBuf buffer) {
+        writeScreenData(Objects.requireNonNull(shop).getBlockPos(), catalog, buffer);
+    }
+
+    static void writeScreenData(BlockPos pos, CatalogSnapshot catalog, RegistryFriendlyByteBuf buffer) {
+        buffer.writeBlockPos(pos);
+        buffer.writeVarLong(catalog.version());
+        buffer.writeLong(CatalogCodec.encode(catalog, buffer.registryAccess()).hash());
+        buffer.writeVarInt(catalog.currencies().size());
     }
 }
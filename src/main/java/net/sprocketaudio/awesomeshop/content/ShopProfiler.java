@@ -0,0 +1,68 @@
+package net.sprocketaudio.awesomeshop.content;
+
+import java.util.Arrays;
+
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+
+// Accumulates wall time spent inside shop code per server tick while a recording is active. When nothing is
+// recording, begin() returns 0 without reading the clock and end(0) returns immediately, so the probes stay in the
+// hot paths permanently.
+public final class ShopProfiler {
+    private static boolean recording;
+    private static long tickNanos;
+    private static long[] samples = new long[0];
+    private static int sampleCount;
+
+    private ShopProfiler() {
+    }
+
+    static long begin() {
+        return recording ? System.nanoTime() : 0L;
+    }
+
+    static void end(long start) {
+        if (start != 0L && recording) {
+            tickNanos += System.nanoTime() - start;
+        }
+    }
+
+    public static void startRecording(int maxTicks) {
+        samples = new long[maxTicks];
+        sampleCount = 0;
+        tickNanos = 0;
+        recording = true;
+    }
+
+    public static Report stopRecording() {
+        recording = false;
+        long[] recorded = Arrays.copyOf(samples, sampleCount);
+        sampleCount = 0;
+        return Report.of(recorded);
+    }
+
+    public static void onServerTick(ServerTickEvent.Post event) {
+        if (!recording) {
+            return;
+        }
+        if (sampleCount < samples.length) {
+            samples[sampleCount++] = tickNanos;
+        }
+        tickNanos = 0;
+    }
+
+    public record Report(int ticks, long meanNanos, long p95Nanos, long maxNanos) {
+        static Report of(long[] samples) {
+            if (samples.length == 0) {
+                return new Report(0, 0, 0, 0);
+            }
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long sample : sorted) {
+                total += sample;
+            }
+            int p95Index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * 0.95) - 1);
+            return new Report(sorted.length, total / sorted.length, sorted[p95Index], sorted[sorted.length - 1]);
+        }
+    }
+}
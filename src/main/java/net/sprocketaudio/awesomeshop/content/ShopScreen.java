@@ -4,22 +4,31 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
+import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.inventory.AbstractContainerScreen;
 import net.minecraft.network.chat.Component;
 import net.minecraft.util.Mth;
 import net.minecraft.world.entity.player.Inventory;
 import net.minecraft.world.item.ItemStack;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
 import net.sprocketaudio.awesomeshop.Config;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
 import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
 import net.sprocketaudio.awesomeshop.Config.PriceRequirement;
 import net.sprocketaudio.awesomeshop.ShopStyleConfig;
 import net.sprocketaudio.awesomeshop.ShopStyleConfig.ShopStyle;
+import net.sprocketaudio.awesomeshop.client.OfferIconAtlas;
+import net.sprocketaudio.awesomeshop.client.OfferSearchIndex;
+import org.jetbrains.annotations.Nullable;
+import org.lwjgl.glfw.GLFW;
 
 public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     private static final int PADDING = 8;
@@ -46,22 +55,56 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     private static final int SCROLLBAR_MARGIN = 6;
     private static final int MIN_SCROLLBAR_HEIGHT = 12;
     private static final double SCROLL_SPEED = 12.0d;
+    private static final int OVERSCAN_ROWS = 1;
     private static final Component INFO_ICON = Component.literal("ⓘ");
     private static final Component AUTOMATION_INFO = Component.literal(
             "Automation (Hoppers, pipes and belts) must be used to add currency");
+    private static final Component CART_HINT = Component.translatable("screen.awesomeshop.shop_block.cart_hint");
+    private static final float CART_HINT_SCALE = 0.75f;
+    private static final Component SEARCH_HINT = Component.translatable("screen.awesomeshop.shop_block.search");
+    private static final int SEARCH_MAX_LENGTH = 64;
 
     private int lockedGuiScale = -1;
     private int originalGuiScale = -1;
 
-    private final int[] selectedQuantities;
-    private final Map<Integer, Button> minusButtons = new HashMap<>();
-    private final Map<Integer, Button> plusButtons = new HashMap<>();
-    private final Map<Integer, Button> purchaseButtons = new HashMap<>();
-    private final List<Button> offerButtons = new ArrayList<>();
+    private CatalogSnapshot boundCatalog;
+    private int[] selectedQuantities;
+    private long[] cartQuantities;
+    private Button checkoutButton;
+    private Button clearCartButton;
+    // Buy and checkout stay disabled until the server answers the last request, and a rejection is shown under the
+    // cart until the next answer arrives.
+    private boolean purchasePending;
+    @Nullable
+    private PurchaseStatus shownStatus;
+    @Nullable
+    private Component statusMessage;
+    // Card widgets for the visible rows plus overscan. Scrolling rebinds these to other offers instead of
+    // rebuilding the layout, so its cost does not depend on how many offers the category holds.
+    private final List<CardSlot> cardPool = new ArrayList<>();
     private final Map<String, Button> categoryButtons = new HashMap<>();
-    private final List<String> categories;
+    private List<String> categories;
     private String selectedCategory;
-    private List<OfferCard> cards = List.of();
+    // Offer indices in grid order: the selected category, or the search results while a search is applied.
+    private int[] shownOffers = new int[0];
+    private EditBox searchBox;
+    private String searchText = "";
+    private CompletableFuture<OfferSearchIndex> searchIndex;
+    @Nullable
+    private int[] searchResults;
+    // Max affordable quantity per offer, or -1 once a balance it depends on has changed. Only stale entries are
+    // recomputed, and only when something asks for them.
+    private int[] affordable;
+    private long affordableRevision;
+    // Render state built on first draw and dropped when the catalog or style changes. Price text is rebuilt when the
+    // selected quantity changes and the header totals when a balance sync arrives.
+    private OfferRenderModel[] renderModels;
+    private final QuadBatch quads = new QuadBatch();
+    private final ShopFrameCache frameCache = new ShopFrameCache();
+    private long totalsRevision;
+    private ItemStack[] totalStacks = new ItemStack[0];
+    private Component[] totalLines = new Component[0];
+    private int totalsWidth;
     private double scrollOffset;
     private double maxScroll;
     private double categoryScrollOffset;
@@ -70,27 +113,49 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     public ShopScreen(ShopMenu menu, Inventory playerInventory, Component title) {
         super(menu, playerInventory, title);
-        this.selectedQuantities = new int[menu.getOffers().size()];
+        bindCatalog();
+        this.imageWidth = 360;
+        this.imageHeight = 140;
+        this.style = ShopStyleConfig.getStyle();
+    }
+
+    private void bindCatalog() {
+        this.boundCatalog = menu.getCatalog();
+        this.selectedQuantities = new int[boundCatalog.offers().size()];
         Arrays.fill(this.selectedQuantities, 1);
-        this.categories = new ArrayList<>(menu.getCategories());
+        this.cartQuantities = new long[boundCatalog.offers().size()];
+        this.renderModels = new OfferRenderModel[boundCatalog.offers().size()];
+        this.affordable = new int[boundCatalog.offers().size()];
+        Arrays.fill(this.affordable, -1);
+        this.affordableRevision = menu.getBalanceRevision();
+        this.totalsRevision = Long.MIN_VALUE;
+        this.categories = new ArrayList<>(boundCatalog.categories());
         if (this.categories.isEmpty()) {
             this.categories.add("default");
         }
         this.selectedCategory = this.categories.get(0);
-        this.imageWidth = 360;
-        this.imageHeight = 140;
-        this.style = ShopStyleConfig.getStyle();
+        this.searchIndex = OfferSearchIndex.forCatalog(boundCatalog);
+        this.searchResults = null;
+        this.scrollOffset = 0;
+        this.categoryScrollOffset = 0;
     }
 
     @Override
     protected void init() {
         super.init();
         this.style = ShopStyleConfig.getStyle();
+        invalidateRenderCache();
         lockGuiScale();
         recalculateDimensions();
         rebuildLayout();
     }
 
+    private void invalidateRenderCache() {
+        Arrays.fill(renderModels, null);
+        totalsRevision = Long.MIN_VALUE;
+        frameCache.invalidate();
+    }
+
     private void recalculateDimensions() {
         this.imageWidth = Math.max(MIN_IMAGE_WIDTH, (int) (this.width * GUI_WIDTH_RATIO));
         this.leftPos = (this.width - this.imageWidth) / 2;
@@ -159,15 +224,13 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     private void rebuildLayout() {
         clearWidgets();
-        minusButtons.clear();
-        plusButtons.clear();
-        purchaseButtons.clear();
-        offerButtons.clear();
+        cardPool.clear();
         categoryButtons.clear();
 
         if (!categories.contains(selectedCategory) && !categories.isEmpty()) {
             selectedCategory = categories.get(0);
         }
+        this.shownOffers = searchResults != null ? searchResults : collectCategoryOffers();
 
         int contentHeight = calculateContentHeight();
         int mainAreaHeight = calculateMainAreaHeight();
@@ -175,62 +238,259 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         this.topPos = Math.max(PADDING, (this.height - this.imageHeight) / 2);
         updateScrollBounds(contentHeight);
         updateCategoryScrollBounds();
-        this.cards = buildCards();
 
+        placeSearchBox();
         placeCategoryButtons();
-        placeOfferButtons();
+        ensureCardPool();
+        layoutCards();
+        placeCartButtons();
         reconcileQuantities();
     }
 
-    private void placeOfferButtons() {
-        for (OfferCard card : cards) {
-            int index = card.offerIndex();
-            int priceRowY = getPriceRowY(card.startY());
-            int quantityButtonY = priceRowY - Math.max(0, (BUTTON_HEIGHT - font.lineHeight) / 2) - 1;
-            int minusX = card.startX() + CARD_PADDING;
-            int plusX = card.startX() + CARD_WIDTH - CARD_PADDING - BUTTON_WIDTH;
-            boolean visible = isCardVisible(card);
-
-            Button minusButton = createTintedButton(minusX, quantityButtonY, BUTTON_WIDTH, BUTTON_HEIGHT, Component.literal("-"),
-                    b -> adjustQuantity(index, -1));
-            minusButton.visible = visible;
-            minusButtons.put(index, minusButton);
-            offerButtons.add(addRenderableWidget(minusButton));
-
-            Button plusButton = createTintedButton(plusX, quantityButtonY, BUTTON_WIDTH, BUTTON_HEIGHT, Component.literal("+"),
-                    b -> adjustQuantity(index, 1));
-            plusButton.visible = visible;
-            plusButtons.put(index, plusButton);
-            offerButtons.add(addRenderableWidget(plusButton));
-
-            int purchaseY = quantityButtonY + BUTTON_HEIGHT + BUTTON_GAP;
-            Button purchaseButton = createTintedButton(card.startX() + CARD_PADDING, purchaseY, CARD_WIDTH - (CARD_PADDING * 2),
-                    BUTTON_HEIGHT, Component.literal(""), b -> purchaseOffer(index));
-            purchaseButton.visible = visible;
-            Button widget = addRenderableWidget(purchaseButton);
-            purchaseButtons.put(index, widget);
-            offerButtons.add(widget);
-            int maxAffordable = calculateMaxAffordable(index);
-            updatePurchaseButton(index, maxAffordable);
+    // Grows the pool to cover the visible rows of the shown offers. It never shrinks outside a full rebuild; spare
+    // slots simply stay unbound.
+    private void ensureCardPool() {
+        int columns = getColumns();
+        int rowStride = CARD_HEIGHT + GRID_GAP;
+        int visibleRows = Mth.positiveCeilDiv(getVisibleOffersHeight(), rowStride) + 1;
+        int totalRows = Mth.positiveCeilDiv(shownOffers.length, columns);
+        int poolRows = Math.min(totalRows, visibleRows + (OVERSCAN_ROWS * 2));
+        while (cardPool.size() < poolRows * columns) {
+            cardPool.add(new CardSlot());
+        }
+    }
+
+    private void placeSearchBox() {
+        int x = leftPos + PADDING;
+        int y = getTopRowY() + getCategoryTitleHeight() + CATEGORY_TITLE_GAP;
+        searchBox = new EditBox(font, x, y, getCategoryColumnWidth() - (PADDING * 2), BUTTON_HEIGHT, SEARCH_HINT);
+        searchBox.setMaxLength(SEARCH_MAX_LENGTH);
+        searchBox.setHint(SEARCH_HINT);
+        searchBox.setValue(searchText);
+        searchBox.setResponder(this::onSearchChanged);
+        addRenderableWidget(searchBox);
+    }
+
+    private void onSearchChanged(String value) {
+        if (value.equals(searchText)) {
+            return;
+        }
+        searchText = value;
+        applySearch();
+    }
+
+    // Swaps the grid between the search results and the selected category. If the index is still being built the
+    // grid is left alone and containerTick retries once it is ready.
+    private void applySearch() {
+        String query = searchText.trim();
+        int[] results;
+        if (query.isEmpty()) {
+            results = null;
+        } else {
+            OfferSearchIndex index = getSearchIndex();
+            if (index == null) {
+                return;
+            }
+            results = index.search(query);
+        }
+        if (results == null && searchResults == null) {
+            return;
+        }
+        searchResults = results;
+        showOffers(results != null ? results : collectCategoryOffers());
+        updateCategoryButtonStates();
+    }
+
+    private boolean isSearchPending() {
+        return searchResults == null && !searchText.trim().isEmpty() && searchIndex.isDone();
+    }
+
+    @Nullable
+    private OfferSearchIndex getSearchIndex() {
+        return searchIndex.isDone() && !searchIndex.isCompletedExceptionally() ? searchIndex.join() : null;
+    }
+
+    private boolean isSearching() {
+        return searchResults != null;
+    }
+
+    private void showOffers(int[] offers) {
+        shownOffers = offers;
+        scrollOffset = 0;
+        updateScrollBounds(calculateContentHeight());
+        ensureCardPool();
+        layoutCards();
+    }
+
+    // Moves the pool to the rows around the scroll position. Slots that stay on the same offer are only
+    // repositioned; the rest are rebound.
+    private void layoutCards() {
+        int columns = getColumns();
+        int rowStride = CARD_HEIGHT + GRID_GAP;
+        int totalRows = Mth.positiveCeilDiv(shownOffers.length, columns);
+        int poolRows = cardPool.size() / columns;
+        int firstRow = Mth.clamp((int) (scrollOffset / rowStride) - OVERSCAN_ROWS, 0,
+                Math.max(0, totalRows - poolRows));
+        int contentLeft = getShopColumnLeft() + PADDING;
+        int originY = getOffersStartY() - (int) scrollOffset;
+
+        for (int i = 0; i < cardPool.size(); i++) {
+            CardSlot slot = cardPool.get(i);
+            int position = (firstRow * columns) + i;
+            if (position >= shownOffers.length) {
+                slot.unbind();
+                continue;
+            }
+            int row = position / columns;
+            int column = position % columns;
+            slot.bind(shownOffers[position], contentLeft + (column * (CARD_WIDTH + GRID_GAP)),
+                    originY + (row * rowStride));
         }
+        frameCache.invalidate();
     }
 
     private void placeCategoryButtons() {
         int buttonWidth = getCategoryButtonWidth();
         int startX = leftPos + ((getCategoryColumnWidth() - buttonWidth) / 2);
-        int startY = getCategoryButtonsStartY() - (int) categoryScrollOffset;
 
         for (String category : categories) {
-            Button button = createCategoryButton(startX, startY, buttonWidth, CATEGORY_BUTTON_HEIGHT, category,
+            Button button = createCategoryButton(startX, 0, buttonWidth, CATEGORY_BUTTON_HEIGHT, category,
                     b -> selectCategory(category));
             categoryButtons.put(category, addRenderableWidget(button));
-            startY += CATEGORY_BUTTON_HEIGHT + BUTTON_GAP;
         }
+        layoutCategoryButtons();
         updateCategoryButtonStates();
     }
 
+    private void layoutCategoryButtons() {
+        int startY = getCategoryButtonsStartY() - (int) categoryScrollOffset;
+        for (String category : categories) {
+            Button button = categoryButtons.get(category);
+            if (button != null) {
+                button.setY(startY);
+            }
+            startY += CATEGORY_BUTTON_HEIGHT + BUTTON_GAP;
+        }
+    }
+
+    private void placeCartButtons() {
+        int buttonWidth = (getCategoryColumnWidth() - (PADDING * 2) - BUTTON_GAP) / 2;
+        int buttonX = leftPos + PADDING;
+        int buttonY = getMainAreaBottom() - PADDING - BUTTON_HEIGHT;
+        checkoutButton = addRenderableWidget(new CartButton(buttonX, buttonY, buttonWidth, BUTTON_HEIGHT,
+                Component.translatable("screen.awesomeshop.shop_block.checkout"), b -> checkout()));
+        clearCartButton = addRenderableWidget(new CartButton(buttonX + buttonWidth + BUTTON_GAP, buttonY, buttonWidth,
+                BUTTON_HEIGHT, Component.translatable("screen.awesomeshop.shop_block.clear_cart"), b -> clearCart()));
+    }
+
+    private void onPurchasePressed(int index) {
+        if (hasShiftDown()) {
+            addToCart(index);
+        } else {
+            purchaseOffer(index);
+        }
+    }
+
+    private void addToCart(int index) {
+        if (index < 0 || index >= cartQuantities.length) {
+            return;
+        }
+        if (cartQuantities[index] == 0 && countCartLines() >= ShopMenu.MAX_CART_LINES) {
+            return;
+        }
+        long limit = Config.MAX_PURCHASE_QUANTITY.get();
+        cartQuantities[index] = Math.min(limit, cartQuantities[index] + selectedQuantities[index]);
+        updateCartButtons();
+    }
+
+    private void clearCart() {
+        Arrays.fill(cartQuantities, 0L);
+        updateCartButtons();
+    }
+
+    private void checkout() {
+        int lines = countCartLines();
+        if (minecraft == null || lines == 0 || menu.isCatalogPending() || menu.isPurchasePending()
+                || !isCartAffordable()) {
+            return;
+        }
+        int[] offerIndices = new int[lines];
+        long[] quantities = new long[lines];
+        int next = 0;
+        for (int i = 0; i < cartQuantities.length; i++) {
+            if (cartQuantities[i] > 0) {
+                offerIndices[next] = i;
+                quantities[next] = cartQuantities[i];
+                next++;
+            }
+        }
+        menu.requestCheckout(offerIndices, quantities);
+        clearCart();
+        updatePurchaseState();
+    }
+
+    private int countCartLines() {
+        int lines = 0;
+        for (long quantity : cartQuantities) {
+            if (quantity > 0) {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private long countCartItems() {
+        long items = 0;
+        for (long quantity : cartQuantities) {
+            items += quantity;
+        }
+        return items;
+    }
+
+    // Mirrors the server's all-or-nothing check so checkout is only offered when the whole cart is affordable.
+    private boolean isCartAffordable() {
+        List<ConfiguredOffer> offers = menu.getOffers();
+        List<ConfiguredCurrency> currencies = menu.getCurrencies();
+        long[] totals = new long[currencies.size()];
+        try {
+            for (int i = 0; i < cartQuantities.length && i < offers.size(); i++) {
+                if (cartQuantities[i] <= 0) {
+                    continue;
+                }
+                ConfiguredOffer offer = offers.get(i);
+                if (!offer.hasValidPrice()) {
+                    return false;
+                }
+                int[] ordinals = offer.priceOrdinals();
+                long[] amounts = offer.priceAmounts();
+                for (int j = 0; j < ordinals.length; j++) {
+                    totals[ordinals[j]] = Math.addExact(totals[ordinals[j]],
+                            Math.multiplyExact(amounts[j], cartQuantities[i]));
+                }
+            }
+        } catch (ArithmeticException ex) {
+            return false;
+        }
+        for (int i = 0; i < totals.length; i++) {
+            if (totals[i] > menu.getBalance(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updateCartButtons() {
+        boolean hasItems = countCartLines() > 0;
+        if (checkoutButton != null) {
+            checkoutButton.active = hasItems && !menu.isCatalogPending() && !purchasePending && isCartAffordable();
+        }
+        if (clearCartButton != null) {
+            clearCartButton.active = hasItems;
+        }
+    }
+
     private void purchaseOffer(int index) {
-        if (minecraft != null && minecraft.gameMode != null) {
+        if (minecraft != null && !menu.isCatalogPending() && !menu.isPurchasePending()) {
             int quantity = selectedQuantities[index];
             int maxAffordable = calculateMaxAffordable(index);
             if (quantity < 1 || maxAffordable < quantity) {
@@ -238,10 +498,9 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
                 reconcileQuantities();
                 return;
             }
-            int buttonId = (quantity * menu.getOffers().size()) + index;
-            minecraft.gameMode.handleInventoryButtonClick(menu.containerId, buttonId);
-            ConfiguredOffer offer = menu.getOffers().get(index);
+            menu.requestPurchase(index, quantity);
             selectedQuantities[index] = Math.max(1, Math.min(quantity, Math.max(1, maxAffordable)));
+            purchasePending = true;
             reconcileQuantities();
         }
     }
@@ -267,8 +526,10 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     }
 
     private void selectCategory(String category) {
-        if (!Objects.equals(selectedCategory, category) && categories.contains(category)) {
+        if ((isSearching() || !Objects.equals(selectedCategory, category)) && categories.contains(category)) {
             selectedCategory = category;
+            searchText = "";
+            searchResults = null;
             scrollOffset = 0;
             categoryScrollOffset = 0;
             rebuildLayout();
@@ -276,45 +537,88 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     }
 
     private void updateCategoryButtonStates() {
-        categoryButtons.forEach((category, button) -> button.active = !Objects.equals(category, selectedCategory));
+        categoryButtons.forEach((category, button) -> button.active = isSearching()
+                || !Objects.equals(category, selectedCategory));
     }
 
     @Override
     public void containerTick() {
         super.containerTick();
-        reconcileQuantities();
+        if (menu.getCatalog() != boundCatalog) {
+            bindCatalog();
+            rebuildLayout();
+        } else if (menu.getBalanceRevision() != affordableRevision) {
+            applyBalanceChanges();
+        }
+        if (ShopStyleConfig.getStyle() != style) {
+            style = ShopStyleConfig.getStyle();
+            invalidateRenderCache();
+        }
+        if (isSearchPending()) {
+            applySearch();
+        }
+        updatePurchaseState();
     }
 
-    private void updatePurchaseButton(int index, int maxAffordable) {
-        if (index < 0 || !purchaseButtons.containsKey(index)) {
-            return;
+    private void updatePurchaseState() {
+        PurchaseStatus status = menu.getLastPurchaseStatus();
+        if (status != shownStatus) {
+            shownStatus = status;
+            statusMessage = status == null || status == PurchaseStatus.SUCCESS ? null
+                    : Component.translatable("screen.awesomeshop.shop_block.status."
+                            + status.name().toLowerCase(Locale.ROOT)).withStyle(ChatFormatting.RED);
+        }
+        if (menu.isPurchasePending() != purchasePending) {
+            purchasePending = menu.isPurchasePending();
+            reconcileQuantities();
         }
-        Button button = purchaseButtons.get(index);
-        int quantity = selectedQuantities[index];
-        ConfiguredOffer offer = menu.getOffers().get(index);
-        button.setMessage(Component.translatable("screen.awesomeshop.shop_block.buy", quantity, offer.item().getHoverName()));
-        button.active = maxAffordable >= quantity && quantity >= 1;
     }
 
-    private void reconcileQuantities() {
-        for (int i = 0; i < selectedQuantities.length; i++) {
-            int maxAffordable = calculateMaxAffordable(i);
-            selectedQuantities[i] = Math.max(1, selectedQuantities[i]);
-            updatePurchaseButton(i, maxAffordable);
-            updateQuantityButtons(i, maxAffordable);
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        if (keyCode != GLFW.GLFW_KEY_ESCAPE && searchBox != null && searchBox.isFocused()) {
+            return searchBox.keyPressed(keyCode, scanCode, modifiers) || searchBox.canConsumeInput()
+                    || super.keyPressed(keyCode, scanCode, modifiers);
         }
+        return super.keyPressed(keyCode, scanCode, modifiers);
     }
 
-    private void updateQuantityButtons(int index, int maxAffordable) {
-        Button minusButton = minusButtons.get(index);
-        Button plusButton = plusButtons.get(index);
-        int quantity = index < selectedQuantities.length ? selectedQuantities[index] : 0;
-        if (minusButton != null) {
-            minusButton.active = quantity > 1;
+    // Invalidates the offers priced in a currency that changed since the last sync, then refreshes the widgets.
+    private void applyBalanceChanges() {
+        long since = affordableRevision;
+        affordableRevision = menu.getBalanceRevision();
+        for (int ordinal = 0; ordinal < boundCatalog.currencyTable().size(); ordinal++) {
+            if (!menu.hasBalanceChangedSince(ordinal, since)) {
+                continue;
+            }
+            for (int offer : boundCatalog.offersUsingCurrency(ordinal)) {
+                affordable[offer] = -1;
+            }
         }
-        if (plusButton != null) {
-            plusButton.active = quantity < maxAffordable;
+        reconcileQuantities();
+        frameCache.invalidate();
+    }
+
+    private void updatePurchaseButton(CardSlot slot, int maxAffordable) {
+        int quantity = selectedQuantities[slot.offerIndex];
+        ConfiguredOffer offer = menu.getOffers().get(slot.offerIndex);
+        slot.purchaseButton.setMessage(Component.translatable("screen.awesomeshop.shop_block.buy", quantity,
+                offer.item().getHoverName()));
+        slot.purchaseButton.active = !purchasePending && maxAffordable >= quantity && quantity >= 1;
+    }
+
+    // Only offers bound to the card pool have widgets; the rest pick up their state when they are bound.
+    private void reconcileQuantities() {
+        for (CardSlot slot : cardPool) {
+            slot.refreshState();
         }
+        updateCartButtons();
+    }
+
+    private void updateQuantityButtons(CardSlot slot, int maxAffordable) {
+        int quantity = selectedQuantities[slot.offerIndex];
+        slot.minusButton.active = quantity > 1;
+        slot.plusButton.active = quantity < maxAffordable;
     }
 
     private Button createTintedButton(int x, int y, int width, int height, Component label, Button.OnPress onPress) {
@@ -331,15 +635,18 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     @Override
     public void render(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
-        renderTitleBox(graphics);
-        renderPanels(graphics);
-        renderOfferDetails(graphics);
-        renderScrollbar(graphics);
-        renderCategoryScrollbar(graphics);
         refreshOfferButtonVisibility();
         refreshCategoryButtonVisibility();
+        bakeOfferIcons(graphics);
+        if (frameCache.begin(graphics)) {
+            renderStaticLayer(graphics);
+            frameCache.end(graphics);
+        }
+        frameCache.blit(graphics);
+        renderCardControls(graphics, mouseX, mouseY);
+        renderCategoryButtons(graphics, mouseX, mouseY);
         super.render(graphics, mouseX, mouseY, partialTick);
-        renderCategoryPanel(graphics);
+        renderCart(graphics);
         renderCurrencyTotals(graphics);
         renderInfoIcon(graphics, mouseX, mouseY);
     }
@@ -348,7 +655,7 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     public void renderBackground(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
     }
 
-    private void renderPanels(GuiGraphics graphics) {
+    private void addPanelQuads() {
         int mainTop = getMainAreaTop();
         int mainBottom = getMainAreaBottom();
         int right = leftPos + imageWidth;
@@ -360,22 +667,22 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         int innerBottom = mainBottom - borderThickness;
 
         // Panel frame
-        graphics.fill(leftPos, mainTop, right, mainTop + borderThickness, style.guiBorderColor());
-        graphics.fill(leftPos, mainBottom - borderThickness, right, mainBottom, style.guiBorderColor());
-        graphics.fill(leftPos, mainTop, leftPos + borderThickness, mainBottom, style.guiBorderColor());
-        graphics.fill(right - borderThickness, mainTop, right, mainBottom, style.guiBorderColor());
+        quads.fill(leftPos, mainTop, right, mainTop + borderThickness, style.guiBorderColor());
+        quads.fill(leftPos, mainBottom - borderThickness, right, mainBottom, style.guiBorderColor());
+        quads.fill(leftPos, mainTop, leftPos + borderThickness, mainBottom, style.guiBorderColor());
+        quads.fill(right - borderThickness, mainTop, right, mainBottom, style.guiBorderColor());
 
         int dividerX = Math.min(right - borderThickness, categoryRight + (COLUMN_GAP / 2));
 
         int categoryBackgroundRight = Math.min(innerRight, dividerX);
-        graphics.fill(innerLeft, innerTop, categoryBackgroundRight, innerBottom, style.categoryPanelBackground());
+        quads.fill(innerLeft, innerTop, categoryBackgroundRight, innerBottom, style.categoryPanelBackground());
 
         int itemBackgroundLeft = Math.max(innerLeft, dividerX);
         if (itemBackgroundLeft < innerRight) {
-            graphics.fill(itemBackgroundLeft, innerTop, innerRight, innerBottom, style.itemPanelBackground());
+            quads.fill(itemBackgroundLeft, innerTop, innerRight, innerBottom, style.itemPanelBackground());
         }
 
-        graphics.fill(dividerX, innerTop, dividerX + borderThickness, innerBottom, style.guiBorderColor());
+        quads.fill(dividerX, innerTop, dividerX + borderThickness, innerBottom, style.guiBorderColor());
     }
 
     private void renderCategoryPanel(GuiGraphics graphics) {
@@ -385,7 +692,20 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
                 style.categoryTitleTextColor());
     }
 
-    private void renderScrollbar(GuiGraphics graphics) {
+    private void renderCart(GuiGraphics graphics) {
+        int cartX = leftPos + PADDING;
+        int cartY = getCategoryViewportBottom() + CATEGORY_TITLE_GAP;
+        graphics.drawString(font, Component.translatable("screen.awesomeshop.shop_block.cart", countCartItems()), cartX,
+                cartY, style.categoryTitleTextColor());
+        drawScaledString(graphics, CART_HINT, cartX, cartY + font.lineHeight + 2, CART_HINT_SCALE,
+                style.categoryButtonTextColor());
+        if (statusMessage != null) {
+            drawScaledString(graphics, statusMessage, cartX, cartY + (font.lineHeight + 2) * 2, CART_HINT_SCALE,
+                    style.categoryButtonTextColor());
+        }
+    }
+
+    private void addScrollbarQuads() {
         if (maxScroll <= 0) {
             return;
         }
@@ -401,17 +721,17 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         int barBottom = getMainAreaBottom() - PADDING;
         int trackHeight = barBottom - barTop;
 
-        graphics.fill(barX, barTop, barX + SCROLLBAR_WIDTH, barBottom, 0x66000000);
+        quads.fill(barX, barTop, barX + SCROLLBAR_WIDTH, barBottom, 0x66000000);
 
         int thumbHeight = Math.max(MIN_SCROLLBAR_HEIGHT, (int) ((visibleHeight / (double) contentHeight) * trackHeight));
         thumbHeight = Math.min(thumbHeight, trackHeight);
         int thumbAvailable = trackHeight - thumbHeight;
         int thumbOffset = maxScroll == 0 ? 0 : (int) ((scrollOffset / maxScroll) * thumbAvailable);
         int thumbTop = barTop + thumbOffset;
-        graphics.fill(barX, thumbTop, barX + SCROLLBAR_WIDTH, thumbTop + thumbHeight, style.cardButtonHoverBackground());
+        quads.fill(barX, thumbTop, barX + SCROLLBAR_WIDTH, thumbTop + thumbHeight, style.cardButtonHoverBackground());
     }
 
-    private void renderCategoryScrollbar(GuiGraphics graphics) {
+    private void addCategoryScrollbarQuads() {
         if (categoryMaxScroll <= 0) {
             return;
         }
@@ -424,114 +744,224 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
         int barX = leftPos + getCategoryColumnWidth() - PADDING - SCROLLBAR_WIDTH;
         int barTop = getCategoryButtonsStartY();
-        int barBottom = getMainAreaBottom() - PADDING;
+        int barBottom = getCategoryViewportBottom();
         int trackHeight = barBottom - barTop;
 
-        graphics.fill(barX, barTop, barX + SCROLLBAR_WIDTH, barBottom, 0x66000000);
+        quads.fill(barX, barTop, barX + SCROLLBAR_WIDTH, barBottom, 0x66000000);
 
         int thumbHeight = Math.max(MIN_SCROLLBAR_HEIGHT, (int) ((visibleHeight / (double) contentHeight) * trackHeight));
         thumbHeight = Math.min(thumbHeight, trackHeight);
         int thumbAvailable = trackHeight - thumbHeight;
         int thumbOffset = categoryMaxScroll == 0 ? 0 : (int) ((categoryScrollOffset / categoryMaxScroll) * thumbAvailable);
         int thumbTop = barTop + thumbOffset;
-        graphics.fill(barX, thumbTop, barX + SCROLLBAR_WIDTH, thumbTop + thumbHeight, style.cardButtonHoverBackground());
+        quads.fill(barX, thumbTop, barX + SCROLLBAR_WIDTH, thumbTop + thumbHeight, style.cardButtonHoverBackground());
+    }
+
+    // Everything that only changes with the layout: the frame, scrollbars, titles and the card faces. This is drawn
+    // into the frame cache and reused until something invalidates it.
+    private void renderStaticLayer(GuiGraphics graphics) {
+        addTitleBoxQuads();
+        addPanelQuads();
+        addScrollbarQuads();
+        addCategoryScrollbarQuads();
+        quads.draw(graphics);
+        renderTitle(graphics);
+        renderCategoryPanel(graphics);
+        renderCardFaces(graphics);
     }
 
-    private void renderOfferDetails(GuiGraphics graphics) {
-        if (maxScroll > 0) {
-            graphics.enableScissor(getShopColumnLeft(), getOffersStartY(), leftPos + imageWidth - PADDING,
-                    getMainAreaBottom() - PADDING);
+    // Icons have to be baked before the frame cache pass starts, since baking switches render targets itself. An
+    // icon baked after the cached frame was drawn moves from the per-frame layer into the static one.
+    private void bakeOfferIcons(GuiGraphics graphics) {
+        List<ConfiguredOffer> offers = menu.getOffers();
+        OfferIconAtlas atlas = OfferIconAtlas.forCatalog(boundCatalog, ITEM_ICON_SIZE);
+        boolean baked = false;
+        for (CardSlot slot : cardPool) {
+            if (isSlotDrawn(slot, offers)) {
+                baked |= atlas.bake(graphics, slot.offerIndex);
+            }
+        }
+        if (baked) {
+            frameCache.invalidate();
         }
+    }
 
+    private void renderOfferIcon(GuiGraphics graphics, CardSlot slot, ItemStack stack, boolean baked) {
+        float iconScale = ITEM_ICON_SIZE / 16f;
+        graphics.pose().pushPose();
+        graphics.pose().translate(getIconX(slot), getIconY(slot), 0);
+        graphics.pose().scale(iconScale, iconScale, 1.0f);
+        if (!baked) {
+            graphics.renderItem(stack, 0, 0);
+        }
+        graphics.renderItemDecorations(font, stack, 0, 0);
+        graphics.pose().popPose();
+    }
+
+    private int getIconX(CardSlot slot) {
+        return slot.x + (CARD_WIDTH / 2) - (int) (ITEM_ICON_SIZE / 2f);
+    }
+
+    private int getIconY(CardSlot slot) {
+        return slot.y + CARD_PADDING + font.lineHeight + 2;
+    }
+
+    private void enableOffersScissor(GuiGraphics graphics) {
+        graphics.enableScissor(getShopColumnLeft(), getOffersStartY(), leftPos + imageWidth - PADDING,
+                getMainAreaBottom() - PADDING);
+    }
+
+    // Card backgrounds in one batch and baked icons in another, then names and the remaining items on top, all under
+    // one scissor.
+    private void renderCardFaces(GuiGraphics graphics) {
+        enableOffersScissor(graphics);
         List<ConfiguredOffer> offers = menu.getOffers();
-        for (OfferCard card : cards) {
-            int index = card.offerIndex();
-            if (index < 0 || index >= offers.size()) {
+        OfferIconAtlas atlas = OfferIconAtlas.forCatalog(boundCatalog, ITEM_ICON_SIZE);
+        int cardBorder = getCardBorderThickness();
+        for (CardSlot slot : cardPool) {
+            if (!isSlotDrawn(slot, offers)) {
                 continue;
             }
+            quads.fill(slot.x, slot.y, slot.x + CARD_WIDTH, slot.y + CARD_HEIGHT, style.cardPanelBackground());
+            quads.outline(slot.x, slot.y, CARD_WIDTH, CARD_HEIGHT, cardBorder, style.cardPanelBorderColor());
+            if (atlas.isBaked(slot.offerIndex)) {
+                atlas.add(slot.offerIndex, getIconX(slot), getIconY(slot), ITEM_ICON_SIZE);
+            }
+        }
+        quads.draw(graphics);
+        atlas.draw(graphics);
 
+        for (CardSlot slot : cardPool) {
+            if (!isSlotDrawn(slot, offers)) {
+                continue;
+            }
+            int index = slot.offerIndex;
             ConfiguredOffer offer = offers.get(index);
-            int cardX = card.startX();
-            int cardY = card.startY();
+            int cardX = slot.x;
+            int cardY = slot.y;
             int cardCenterX = cardX + (CARD_WIDTH / 2);
 
-            int cardBorder = getCardBorderThickness();
-            graphics.fill(cardX, cardY, cardX + CARD_WIDTH, cardY + CARD_HEIGHT, style.cardPanelBackground());
-            graphics.fill(cardX, cardY, cardX + CARD_WIDTH, cardY + cardBorder, style.cardPanelBorderColor());
-            graphics.fill(cardX, cardY + CARD_HEIGHT - cardBorder, cardX + CARD_WIDTH, cardY + CARD_HEIGHT,
-                    style.cardPanelBorderColor());
-            graphics.fill(cardX, cardY, cardX + cardBorder, cardY + CARD_HEIGHT, style.cardPanelBorderColor());
-            graphics.fill(cardX + CARD_WIDTH - cardBorder, cardY, cardX + CARD_WIDTH, cardY + CARD_HEIGHT,
-                    style.cardPanelBorderColor());
-
-            Component itemName = offer.item().getHoverName();
+            OfferRenderModel model = getRenderModel(index, offer);
             int nameY = cardY + CARD_PADDING;
-            graphics.drawCenteredString(font, itemName, cardCenterX, nameY, style.cardItemTextColor());
-
-            float iconScale = ITEM_ICON_SIZE / 16f;
-            int iconX = cardCenterX - (int) (ITEM_ICON_SIZE / 2f);
-            int iconY = nameY + font.lineHeight + 2;
-            graphics.pose().pushPose();
-            graphics.pose().translate(iconX, iconY, 0);
-            graphics.pose().scale(iconScale, iconScale, 1.0f);
-            graphics.renderItem(offer.item(), 0, 0);
-            graphics.renderItemDecorations(font, offer.item(), 0, 0);
-            graphics.pose().popPose();
-
-            int currenciesY = iconY + ITEM_ICON_SIZE + 6;
-            List<PriceRequirement> requirements = offer.prices();
-            int totalCurrencyWidth = calculateCurrencyRowWidth(requirements);
-            int currencyStartX = cardCenterX - (totalCurrencyWidth / 2);
-            int currentX = currencyStartX;
-
-            List<Integer> currencyCenters = new ArrayList<>(requirements.size());
-            for (PriceRequirement requirement : requirements) {
-                ItemStack currencyStack = new ItemStack(requirement.currency().item());
-                graphics.renderItem(currencyStack, currentX, currenciesY);
-                graphics.renderItemDecorations(font, currencyStack, currentX, currenciesY);
-                currencyCenters.add(currentX + 8);
-                currentX += 16 + CURRENCY_GAP;
+            graphics.drawCenteredString(font, model.name, cardCenterX, nameY, style.cardItemTextColor());
+
+            // Icons the atlas could not bake change over time, so renderCardControls draws them every frame.
+            if (atlas.isBaked(index)) {
+                renderOfferIcon(graphics, slot, offer.item(), true);
             }
 
-            int quantity = selectedQuantities[index];
-            int priceY = getPriceRowY(cardY);
-            for (int i = 0; i < requirements.size(); i++) {
-                PriceRequirement requirement = requirements.get(i);
-                String costText = Integer.toString(quantity * requirement.price());
-                graphics.drawCenteredString(font, Component.literal(costText), currencyCenters.get(i), priceY, 0xDDDDDD);
+            int currenciesY = getIconY(slot) + ITEM_ICON_SIZE + 6;
+            for (int i = 0; i < model.currencyStacks.length; i++) {
+                int currencyX = cardX + model.currencyOffsets[i];
+                graphics.renderItem(model.currencyStacks[i], currencyX, currenciesY);
+                graphics.renderItemDecorations(font, model.currencyStacks[i], currencyX, currenciesY);
             }
         }
+        graphics.disableScissor();
+    }
 
-        if (maxScroll > 0) {
-            graphics.disableScissor();
+    // The per-frame part of the cards: prices follow the selected quantity, buttons follow the mouse and unbaked
+    // icons animate. The pooled buttons skip their own renderWidget and are drawn here in one batch.
+    private void renderCardControls(GuiGraphics graphics, int mouseX, int mouseY) {
+        enableOffersScissor(graphics);
+        List<ConfiguredOffer> offers = menu.getOffers();
+        OfferIconAtlas atlas = OfferIconAtlas.forCatalog(boundCatalog, ITEM_ICON_SIZE);
+        for (CardSlot slot : cardPool) {
+            if (isSlotDrawn(slot, offers)) {
+                addSolidButtonQuads(slot.minusButton, mouseX, mouseY);
+                addSolidButtonQuads(slot.plusButton, mouseX, mouseY);
+                addSolidButtonQuads(slot.purchaseButton, mouseX, mouseY);
+            }
+        }
+        quads.draw(graphics);
+
+        for (CardSlot slot : cardPool) {
+            if (!isSlotDrawn(slot, offers)) {
+                continue;
+            }
+            int index = slot.offerIndex;
+            if (!atlas.isBaked(index)) {
+                renderOfferIcon(graphics, slot, offers.get(index).item(), false);
+            }
+            OfferRenderModel model = getRenderModel(index, offers.get(index));
+            Component[] priceTexts = model.priceTexts(selectedQuantities[index]);
+            int priceY = getPriceRowY(slot.y);
+            for (int i = 0; i < priceTexts.length; i++) {
+                graphics.drawCenteredString(font, priceTexts[i], slot.x + model.currencyOffsets[i] + 8, priceY,
+                        0xDDDDDD);
+            }
+
+            renderSolidButtonLabel(graphics, slot.minusButton, mouseX, mouseY);
+            renderSolidButtonLabel(graphics, slot.plusButton, mouseX, mouseY);
+            renderSolidButtonLabel(graphics, slot.purchaseButton, mouseX, mouseY);
         }
+
+        graphics.disableScissor();
+    }
+
+    private boolean isSlotDrawn(CardSlot slot, List<ConfiguredOffer> offers) {
+        return slot.offerIndex >= 0 && slot.offerIndex < offers.size() && isCardVisible(slot.y);
+    }
+
+    // Same single-scissor treatment for the category list.
+    private void renderCategoryButtons(GuiGraphics graphics, int mouseX, int mouseY) {
+        graphics.enableScissor(leftPos + PADDING, getCategoryButtonsStartY(),
+                leftPos + getCategoryColumnWidth() - PADDING, getCategoryViewportBottom());
+        for (Button button : categoryButtons.values()) {
+            if (button.visible && button instanceof CategoryButton category) {
+                category.addQuads(mouseX, mouseY);
+            }
+        }
+        quads.draw(graphics);
+        for (Button button : categoryButtons.values()) {
+            if (button.visible && button instanceof CategoryButton category) {
+                category.renderLabel(graphics, mouseX, mouseY);
+            }
+        }
+        graphics.disableScissor();
     }
 
     private void renderCurrencyTotals(GuiGraphics graphics) {
-        List<ConfiguredCurrency> currencies = menu.getCurrencies();
-        if (currencies.isEmpty()) {
+        refreshCurrencyTotals();
+        if (totalStacks.length == 0) {
             return;
         }
 
         int currencyRowBaseline = getTopRowY();
-        int totalWidth = calculateCurrencyTotalsWidth(currencies);
-        int startX = leftPos + imageWidth - PADDING - totalWidth;
+        int startX = leftPos + imageWidth - PADDING - totalsWidth;
         int currentX = startX;
 
-        for (ConfiguredCurrency currency : currencies) {
-            ItemStack currencyStack = new ItemStack(currency.item());
-            Component totalLine = Component.literal("x " + menu.getCurrencyCount(currency));
-            int lineWidth = 16 + 4 + font.width(totalLine);
-
+        for (int i = 0; i < totalStacks.length; i++) {
             int iconY = currencyRowBaseline - ((16 - font.lineHeight) / 2);
-            graphics.renderItem(currencyStack, currentX, iconY);
-            graphics.renderItemDecorations(font, currencyStack, currentX, iconY);
+            graphics.renderItem(totalStacks[i], currentX, iconY);
+            graphics.renderItemDecorations(font, totalStacks[i], currentX, iconY);
 
             int textY = currencyRowBaseline;
-            graphics.drawString(font, totalLine, currentX + 16 + 4, textY, 0xFFFFFF);
+            graphics.drawString(font, totalLines[i], currentX + 16 + 4, textY, 0xFFFFFF);
 
-            currentX += lineWidth + CURRENCY_GAP;
+            currentX += 16 + 4 + font.width(totalLines[i]) + CURRENCY_GAP;
+        }
+    }
+
+    private void refreshCurrencyTotals() {
+        long revision = menu.getBalanceRevision();
+        if (revision == totalsRevision) {
+            return;
+        }
+        totalsRevision = revision;
+        List<ConfiguredCurrency> currencies = menu.getCurrencies();
+        if (totalStacks.length != currencies.size()) {
+            totalStacks = new ItemStack[currencies.size()];
+            totalLines = new Component[currencies.size()];
+        }
+        for (int i = 0; i < currencies.size(); i++) {
+            ConfiguredCurrency currency = currencies.get(i);
+            if (totalStacks[i] == null || !totalStacks[i].is(currency.item())) {
+                totalStacks[i] = new ItemStack(currency.item());
+            }
+            totalLines[i] = Component.literal("x " + menu.getCurrencyCount(currency));
         }
+        totalsWidth = calculateCurrencyTotalsWidth();
     }
 
     @Override
@@ -549,7 +979,7 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         double clamped = Mth.clamp(offset, 0, maxScroll);
         if (clamped != scrollOffset) {
             scrollOffset = clamped;
-            rebuildLayout();
+            layoutCards();
         }
     }
 
@@ -557,7 +987,8 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         double clamped = Mth.clamp(offset, 0, categoryMaxScroll);
         if (clamped != categoryScrollOffset) {
             categoryScrollOffset = clamped;
-            rebuildLayout();
+            layoutCategoryButtons();
+            frameCache.invalidate();
         }
     }
 
@@ -569,7 +1000,7 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     private int getVisibleCategoryHeight() {
         int categoryTop = getCategoryButtonsStartY();
-        int categoryBottom = getMainAreaBottom() - PADDING;
+        int categoryBottom = getCategoryViewportBottom();
         return Math.max(0, categoryBottom - categoryTop);
     }
 
@@ -577,24 +1008,26 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     protected void renderLabels(GuiGraphics graphics, int mouseX, int mouseY) {
     }
 
-    private void renderTitleBox(GuiGraphics graphics) {
+    private void addTitleBoxQuads() {
         int boxTop = topPos;
         int boxBottom = boxTop + getTitleBoxHeight();
         int boxLeft = leftPos;
         int boxRight = leftPos + imageWidth;
 
-        graphics.fill(boxLeft, boxTop, boxRight, boxBottom, style.titleBackgroundColor());
+        quads.fill(boxLeft, boxTop, boxRight, boxBottom, style.titleBackgroundColor());
 
         int borderThickness = getTitleBorderThickness();
         if (borderThickness > 0) {
-            graphics.fill(boxLeft, boxTop, boxRight, boxTop + borderThickness, style.titleBorderColor());
-            graphics.fill(boxLeft, boxBottom - borderThickness, boxRight, boxBottom, style.titleBorderColor());
-            graphics.fill(boxLeft, boxTop, boxLeft + borderThickness, boxBottom, style.titleBorderColor());
-            graphics.fill(boxRight - borderThickness, boxTop, boxRight, boxBottom, style.titleBorderColor());
+            quads.fill(boxLeft, boxTop, boxRight, boxTop + borderThickness, style.titleBorderColor());
+            quads.fill(boxLeft, boxBottom - borderThickness, boxRight, boxBottom, style.titleBorderColor());
+            quads.fill(boxLeft, boxTop, boxLeft + borderThickness, boxBottom, style.titleBorderColor());
+            quads.fill(boxRight - borderThickness, boxTop, boxRight, boxBottom, style.titleBorderColor());
         }
+    }
 
-        int textY = boxTop + ((getTitleBoxHeight() - getTitleFontHeight()) / 2);
-        int centerX = boxLeft + (imageWidth / 2);
+    private void renderTitle(GuiGraphics graphics) {
+        int textY = topPos + ((getTitleBoxHeight() - getTitleFontHeight()) / 2);
+        int centerX = leftPos + (imageWidth / 2);
         drawScaledCenteredString(graphics, title, centerX, textY, getTitleFontScale(), style.titleTextColor());
     }
 
@@ -650,6 +1083,8 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     @Override
     public void removed() {
+        frameCache.close();
+        OfferIconAtlas.release();
         restoreGuiScale();
         super.removed();
     }
@@ -684,6 +1119,14 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         return getTopRowY() + getCategoryTitleHeight() + CATEGORY_TITLE_GAP + CATEGORY_BUTTON_Y_OFFSET;
     }
 
+    private int getCategoryViewportBottom() {
+        return getMainAreaBottom() - PADDING - getCartAreaHeight();
+    }
+
+    private int getCartAreaHeight() {
+        return CATEGORY_TITLE_GAP + ((font.lineHeight + 2) * 3) + BUTTON_GAP + BUTTON_HEIGHT;
+    }
+
     private int getCategoryColumnWidth() {
         return Math.max((int) (imageWidth * CATEGORY_COLUMN_RATIO), 140);
     }
@@ -708,40 +1151,12 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         return getCategoryButtonsStartY();
     }
 
-    private List<OfferCard> buildCards() {
-        List<OfferCard> result = new ArrayList<>();
-        int contentLeft = getShopColumnLeft() + PADDING;
-        int currentX = contentLeft;
-        int currentY = getOffersStartY() - (int) scrollOffset;
-        int columns = Math.max(1, getColumns());
-        int columnIndex = 0;
-
-        for (int i = 0; i < menu.getOffers().size(); i++) {
-            ConfiguredOffer offer = menu.getOffers().get(i);
-            if (!Objects.equals(offer.category(), selectedCategory)) {
-                continue;
-            }
-            result.add(new OfferCard(i, currentX, currentY));
-
-            columnIndex++;
-            if (columnIndex >= columns) {
-                columnIndex = 0;
-                currentX = contentLeft;
-                currentY += CARD_HEIGHT + GRID_GAP;
-            } else {
-                currentX += CARD_WIDTH + GRID_GAP;
-            }
-        }
-        return result;
+    private int[] collectCategoryOffers() {
+        return boundCatalog.offersInCategory(boundCatalog.categoryOrdinal(selectedCategory));
     }
 
     private int calculateContentHeight() {
-        int offerCount = 0;
-        for (ConfiguredOffer offer : menu.getOffers()) {
-            if (Objects.equals(offer.category(), selectedCategory)) {
-                offerCount++;
-            }
-        }
+        int offerCount = shownOffers.length;
         int columns = Math.max(1, getColumns());
         int rows = (int) Math.ceil((double) offerCount / columns);
         if (rows == 0) {
@@ -770,15 +1185,14 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         return (categories.size() * CATEGORY_BUTTON_HEIGHT) + ((categories.size() - 1) * BUTTON_GAP);
     }
 
-    private int calculateCurrencyRowWidth(List<PriceRequirement> requirements) {
-        if (requirements.isEmpty()) {
+    private int calculateCurrencyRowWidth(int currencyCount) {
+        if (currencyCount == 0) {
             return 0;
         }
-        return (requirements.size() * 16) + ((requirements.size() - 1) * CURRENCY_GAP);
+        return (currencyCount * 16) + ((currencyCount - 1) * CURRENCY_GAP);
     }
 
-    private boolean isCardVisible(OfferCard card) {
-        int cardTop = card.startY();
+    private boolean isCardVisible(int cardTop) {
         int cardBottom = cardTop + CARD_HEIGHT;
         int offersTop = getOffersStartY();
         int offersBottom = getMainAreaBottom() - PADDING;
@@ -786,8 +1200,8 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
     }
 
     private void refreshOfferButtonVisibility() {
-        for (Button button : offerButtons) {
-            button.visible = isWithinOffersViewport(button);
+        for (CardSlot slot : cardPool) {
+            slot.refreshVisibility();
         }
     }
 
@@ -820,7 +1234,7 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         int viewportLeft = leftPos + PADDING;
         int viewportRight = leftPos + getCategoryColumnWidth() - PADDING;
         int viewportTop = getCategoryButtonsStartY();
-        int viewportBottom = getMainAreaBottom() - PADDING;
+        int viewportBottom = getCategoryViewportBottom();
 
         int right = x + width;
         int bottom = y + height;
@@ -835,19 +1249,26 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         return mouseX >= columnLeft && mouseX <= columnRight && mouseY >= columnTop && mouseY <= columnBottom;
     }
 
-    private int calculateCurrencyTotalsWidth(List<ConfiguredCurrency> currencies) {
+    private int calculateCurrencyTotalsWidth() {
         int total = 0;
-        for (int i = 0; i < currencies.size(); i++) {
-            ConfiguredCurrency currency = currencies.get(i);
-            Component totalLine = Component.literal("x " + menu.getCurrencyCount(currency));
-            total += 16 + 4 + font.width(totalLine);
-            if (i < currencies.size() - 1) {
+        for (int i = 0; i < totalLines.length; i++) {
+            total += 16 + 4 + font.width(totalLines[i]);
+            if (i < totalLines.length - 1) {
                 total += CURRENCY_GAP;
             }
         }
         return total;
     }
 
+    private OfferRenderModel getRenderModel(int index, ConfiguredOffer offer) {
+        OfferRenderModel model = renderModels[index];
+        if (model == null) {
+            model = new OfferRenderModel(offer, calculateCurrencyRowWidth(offer.prices().size()));
+            renderModels[index] = model;
+        }
+        return model;
+    }
+
     private int getColumns() {
         int contentWidth = getShopColumnWidth() - (PADDING * 2) - SCROLLBAR_WIDTH - SCROLLBAR_MARGIN;
         return Math.max(1, (contentWidth + GRID_GAP) / (CARD_WIDTH + GRID_GAP));
@@ -859,44 +1280,58 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
     private int calculateMaxAffordable(int offerIndex) {
         List<ConfiguredOffer> offers = menu.getOffers();
-        if (offerIndex < 0 || offerIndex >= offers.size()) {
+        if (offerIndex < 0 || offerIndex >= offers.size() || offerIndex >= affordable.length) {
             return 0;
         }
 
-        return calculateMaxAffordable(offers.get(offerIndex));
+        int cached = affordable[offerIndex];
+        if (cached < 0) {
+            cached = calculateMaxAffordable(offers.get(offerIndex));
+            affordable[offerIndex] = cached;
+        }
+        return cached;
     }
 
     private int calculateMaxAffordable(ConfiguredOffer offer) {
-        int maxAffordable = Integer.MAX_VALUE;
-        Map<ConfiguredCurrency, Integer> prices = Config.aggregatePriceRequirements(offer.prices());
-        if (prices.isEmpty()) {
-            return 0;
-        }
-        for (Map.Entry<ConfiguredCurrency, Integer> entry : prices.entrySet()) {
-            int priceEach = entry.getValue();
-            if (priceEach <= 0) {
-                continue;
-            }
-            int available = menu.getCurrencyCount(entry.getKey());
-            maxAffordable = Math.min(maxAffordable, Math.max(0, available) / priceEach);
-        }
-        if (maxAffordable == Integer.MAX_VALUE) {
-            return 0;
-        }
-        return Math.max(0, maxAffordable);
+        return menu.getMaxAffordable(offer);
+    }
+
+    private void renderSolidButton(GuiGraphics graphics, Button button, int mouseX, int mouseY) {
+        addSolidButtonQuads(button, mouseX, mouseY);
+        quads.draw(graphics);
+        renderSolidButtonLabel(graphics, button, mouseX, mouseY);
     }
 
-    private void renderButtonOutline(GuiGraphics graphics, int x, int y, int width, int height, int thickness, int color) {
-        if (width <= 0 || height <= 0 || thickness <= 0) {
+    private void addSolidButtonQuads(Button button, int mouseX, int mouseY) {
+        if (!button.visible) {
             return;
         }
-        int clampedThickness = Math.max(1, Math.min(thickness, Math.min(width, height) / 2));
-        graphics.fill(x, y, x + width, y + clampedThickness, color);
-        graphics.fill(x, y + height - clampedThickness, x + width, y + height, color);
-        graphics.fill(x, y, x + clampedThickness, y + height, color);
-        graphics.fill(x + width - clampedThickness, y, x + width, y + height, color);
+        int x = button.getX();
+        int y = button.getY();
+        int width = button.getWidth();
+        int height = button.getHeight();
+        boolean hovered = button.active && button.isMouseOver(mouseX, mouseY);
+        int background = !button.active ? style.cardButtonDisabledBackground()
+                : hovered ? style.cardButtonHoverBackground() : style.cardButtonBackground();
+        quads.fill(x, y, x + width, y + height, background);
+        int outlineColor = !button.active ? style.cardButtonBorderDisabledColor()
+                : hovered ? style.cardButtonBorderHoverColor() : style.cardButtonBorderColor();
+        quads.outline(x, y, width, height, getButtonBorderThickness(), outlineColor);
+    }
+
+    private void renderSolidButtonLabel(GuiGraphics graphics, Button button, int mouseX, int mouseY) {
+        if (!button.visible) {
+            return;
+        }
+        boolean hovered = button.active && button.isMouseOver(mouseX, mouseY);
+        int textY = button.getY() + (button.getHeight() - font.lineHeight) / 2;
+        int textColor = !button.active ? style.cardButtonTextDisabledColor()
+                : hovered ? style.cardButtonTextHoverColor() : style.cardButtonTextColor();
+        graphics.drawCenteredString(font, button.getMessage(), button.getX() + (button.getWidth() / 2), textY,
+                textColor);
     }
 
+    // Pooled card buttons are drawn in bulk by renderCardControls.
     private class SolidButton extends Button {
         SolidButton(int x, int y, int width, int height, Component label, OnPress onPress) {
             super(x, y, width, height, label, onPress, DEFAULT_NARRATION);
@@ -904,28 +1339,6 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
 
         @Override
         public void renderWidget(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
-            if (!isWithinOffersViewport(this)) {
-                return;
-            }
-
-            int viewportLeft = getShopColumnLeft();
-            int viewportRight = leftPos + imageWidth - PADDING;
-            int viewportTop = getOffersStartY();
-            int viewportBottom = getMainAreaBottom() - PADDING;
-
-            graphics.enableScissor(viewportLeft, viewportTop, viewportRight, viewportBottom);
-            boolean hovered = active && isMouseOver(mouseX, mouseY);
-            int background = !active ? style.cardButtonDisabledBackground()
-                    : hovered ? style.cardButtonHoverBackground() : style.cardButtonBackground();
-            graphics.fill(getX(), getY(), getX() + width, getY() + height, background);
-            int outlineColor = !active ? style.cardButtonBorderDisabledColor()
-                    : hovered ? style.cardButtonBorderHoverColor() : style.cardButtonBorderColor();
-            renderButtonOutline(graphics, getX(), getY(), width, height, getButtonBorderThickness(), outlineColor);
-            int textY = getY() + (height - font.lineHeight) / 2;
-            int textColor = !active ? style.cardButtonTextDisabledColor()
-                    : hovered ? style.cardButtonTextHoverColor() : style.cardButtonTextColor();
-            graphics.drawCenteredString(font, getMessage(), getX() + (width / 2), textY, textColor);
-            graphics.disableScissor();
         }
 
         @Override
@@ -935,6 +1348,17 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         }
     }
 
+    private class CartButton extends Button {
+        CartButton(int x, int y, int width, int height, Component label, OnPress onPress) {
+            super(x, y, width, height, label, onPress, DEFAULT_NARRATION);
+        }
+
+        @Override
+        public void renderWidget(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
+            renderSolidButton(graphics, this, mouseX, mouseY);
+        }
+    }
+
     private class CategoryButton extends Button {
         private static final int TEXT_PADDING = 6;
         private final String categoryId;
@@ -945,22 +1369,20 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         }
 
         private boolean isSelected() {
-            return Objects.equals(selectedCategory, categoryId);
+            return !isSearching() && Objects.equals(selectedCategory, categoryId);
         }
 
+        // Drawn in bulk by renderCategoryButtons.
         @Override
         public void renderWidget(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
-            if (!isWithinCategoryViewport(this)) {
-                return;
-            }
+        }
 
-            int viewportLeft = leftPos + PADDING;
-            int viewportRight = leftPos + getCategoryColumnWidth() - PADDING;
-            int viewportTop = getCategoryButtonsStartY();
-            int viewportBottom = getMainAreaBottom() - PADDING;
+        private boolean isHighlighted(int mouseX, int mouseY) {
+            return isMouseOver(mouseX, mouseY) || isFocused();
+        }
 
-            graphics.enableScissor(viewportLeft, viewportTop, viewportRight, viewportBottom);
-            boolean hovered = isHoveredOrFocused();
+        void addQuads(int mouseX, int mouseY) {
+            boolean hovered = isHighlighted(mouseX, mouseY);
             int background;
             if (isSelected()) {
                 background = style.categoryButtonSelectedBackground();
@@ -969,17 +1391,19 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
             } else {
                 background = style.categoryButtonBackground();
             }
-            graphics.fill(getX(), getY(), getX() + width, getY() + height, background);
+            quads.fill(getX(), getY(), getX() + width, getY() + height, background);
             int outlineColor = isSelected() ? style.categoryButtonBorderSelectedColor()
                     : hovered ? style.categoryButtonBorderHoverColor() : style.categoryButtonBorderColor();
-            renderButtonOutline(graphics, getX(), getY(), width, height, getCategoryButtonBorderThickness(), outlineColor);
+            quads.outline(getX(), getY(), width, height, getCategoryButtonBorderThickness(), outlineColor);
+        }
 
+        void renderLabel(GuiGraphics graphics, int mouseX, int mouseY) {
+            boolean hovered = isHighlighted(mouseX, mouseY);
             int textY = getY() + (height - font.lineHeight) / 2;
             int textX = getX() + TEXT_PADDING;
             int textColor = isSelected() ? style.categoryButtonTextSelectedColor()
                     : hovered ? style.categoryButtonTextHoverColor() : style.categoryButtonTextColor();
             graphics.drawString(font, getMessage(), textX, textY, textColor);
-            graphics.disableScissor();
         }
 
         @Override
@@ -989,6 +1413,95 @@ public class ShopScreen extends AbstractContainerScreen<ShopMenu> {
         }
     }
 
-    private record OfferCard(int offerIndex, int startX, int startY) {
+    // Everything the card renderers need for one offer that does not change from frame to frame.
+    private static final class OfferRenderModel {
+        private final Component name;
+        private final ItemStack[] currencyStacks;
+        private final int[] currencyOffsets;
+        private final int[] prices;
+        private final Component[] priceTexts;
+        private int priceQuantity = -1;
+
+        OfferRenderModel(ConfiguredOffer offer, int currencyRowWidth) {
+            List<PriceRequirement> requirements = offer.prices();
+            this.name = offer.item().getHoverName();
+            this.currencyStacks = new ItemStack[requirements.size()];
+            this.currencyOffsets = new int[requirements.size()];
+            this.prices = new int[requirements.size()];
+            this.priceTexts = new Component[requirements.size()];
+            int offset = (CARD_WIDTH / 2) - (currencyRowWidth / 2);
+            for (int i = 0; i < requirements.size(); i++) {
+                currencyStacks[i] = new ItemStack(requirements.get(i).currency().item());
+                currencyOffsets[i] = offset;
+                prices[i] = requirements.get(i).price();
+                offset += 16 + CURRENCY_GAP;
+            }
+        }
+
+        Component[] priceTexts(int quantity) {
+            if (quantity != priceQuantity) {
+                priceQuantity = quantity;
+                for (int i = 0; i < prices.length; i++) {
+                    priceTexts[i] = Component.literal(Long.toString((long) quantity * prices[i]));
+                }
+            }
+            return priceTexts;
+        }
+    }
+
+    private class CardSlot {
+        private final Button minusButton;
+        private final Button plusButton;
+        private final Button purchaseButton;
+        private int offerIndex = -1;
+        private int x;
+        private int y;
+
+        CardSlot() {
+            minusButton = addRenderableWidget(createTintedButton(0, 0, BUTTON_WIDTH, BUTTON_HEIGHT,
+                    Component.literal("-"), b -> adjustQuantity(offerIndex, -1)));
+            plusButton = addRenderableWidget(createTintedButton(0, 0, BUTTON_WIDTH, BUTTON_HEIGHT,
+                    Component.literal("+"), b -> adjustQuantity(offerIndex, 1)));
+            purchaseButton = addRenderableWidget(createTintedButton(0, 0, CARD_WIDTH - (CARD_PADDING * 2),
+                    BUTTON_HEIGHT, Component.literal(""), b -> onPurchasePressed(offerIndex)));
+            refreshVisibility();
+        }
+
+        void bind(int index, int cardX, int cardY) {
+            boolean rebound = index != offerIndex;
+            offerIndex = index;
+            x = cardX;
+            y = cardY;
+            int quantityButtonY = getPriceRowY(cardY) - Math.max(0, (BUTTON_HEIGHT - font.lineHeight) / 2) - 1;
+            minusButton.setPosition(cardX + CARD_PADDING, quantityButtonY);
+            plusButton.setPosition(cardX + CARD_WIDTH - CARD_PADDING - BUTTON_WIDTH, quantityButtonY);
+            purchaseButton.setPosition(cardX + CARD_PADDING, quantityButtonY + BUTTON_HEIGHT + BUTTON_GAP);
+            refreshVisibility();
+            if (rebound) {
+                refreshState();
+            }
+        }
+
+        void unbind() {
+            offerIndex = -1;
+            refreshVisibility();
+        }
+
+        void refreshVisibility() {
+            boolean bound = offerIndex >= 0;
+            minusButton.visible = bound && isWithinOffersViewport(minusButton);
+            plusButton.visible = bound && isWithinOffersViewport(plusButton);
+            purchaseButton.visible = bound && isWithinOffersViewport(purchaseButton);
+        }
+
+        void refreshState() {
+            if (offerIndex < 0 || offerIndex >= selectedQuantities.length) {
+                return;
+            }
+            int maxAffordable = calculateMaxAffordable(offerIndex);
+            selectedQuantities[offerIndex] = Math.max(1, selectedQuantities[offerIndex]);
+            updatePurchaseButton(this, maxAffordable);
+            updateQuantityButtons(this, maxAffordable);
+        }
     }
 }
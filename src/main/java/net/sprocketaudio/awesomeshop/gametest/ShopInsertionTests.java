@@ -0,0 +1,109 @@
+package net.sprocketaudio.awesomeshop.gametest;
+
+import java.lang.management.ManagementFactory;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import net.neoforged.neoforge.items.IItemHandler;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import net.sprocketaudio.awesomeshop.content.ShopBlockEntity;
+
+@GameTestHolder(AwesomeShop.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class ShopInsertionTests {
+    private static final BlockPos SHOP_POS = new BlockPos(2, 1, 2);
+    private static final int WARMUP_ITERATIONS = 20_000;
+    private static final int MEASURED_ITERATIONS = 100_000;
+    // A single int[] or boxed balance per call would cost megabytes over the measured loop; this only absorbs
+    // profiler noise.
+    private static final long ALLOCATION_TOLERANCE_BYTES = 1024;
+
+    @GameTest(template = "empty")
+    public static void insertionPathDoesNotAllocate(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+
+        helper.setBlock(SHOP_POS, AwesomeShop.SHOP_BLOCK.get());
+        ShopBlockEntity shop = helper.getBlockEntity(SHOP_POS);
+        ItemStack currency = new ItemStack(table.get(0).item());
+        ItemStack rejected = new ItemStack(Items.BEDROCK);
+
+        runInsertionChecks(shop, currency, rejected, WARMUP_ITERATIONS);
+        long before = currentThreadAllocatedBytes();
+        runInsertionChecks(shop, currency, rejected, MEASURED_ITERATIONS);
+        long allocated = currentThreadAllocatedBytes() - before;
+
+        helper.assertTrue(allocated <= ALLOCATION_TOLERANCE_BYTES,
+                "Insertion checks allocated " + allocated + " bytes over " + MEASURED_ITERATIONS + " iterations");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void slotTableMatchesCurrencies(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.setBlock(SHOP_POS, AwesomeShop.SHOP_BLOCK.get());
+        ShopBlockEntity shop = helper.getBlockEntity(SHOP_POS);
+
+        helper.assertTrue(shop.getSlotsForFace(Direction.UP) == shop.getSlotsForFace(Direction.NORTH),
+                "Slot table should be shared between faces");
+        helper.assertValueEqual(shop.getContainerSize(), Math.max(1, table.size()), "container size");
+        for (int slot = 0; slot < table.size(); slot++) {
+            ItemStack stack = new ItemStack(table.get(slot).item());
+            helper.assertValueEqual(table.slotOf(stack.getItem()), slot, "slot for " + table.get(slot).id());
+            helper.assertTrue(shop.canPlaceItemThroughFace(slot, stack, Direction.UP),
+                    "Currency " + table.get(slot).id() + " should be accepted in slot " + slot);
+        }
+        helper.assertFalse(shop.canPlaceItem(0, new ItemStack(Items.BEDROCK)), "Non-currency item was accepted");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void itemHandlerAcceptsWholeBatches(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.setBlock(SHOP_POS, AwesomeShop.SHOP_BLOCK.get());
+        ShopBlockEntity shop = helper.getBlockEntity(SHOP_POS);
+        IItemHandler handler = shop.getItemHandler(Direction.UP);
+        ItemStack batch = new ItemStack(table.get(0).item(), 1024);
+
+        helper.assertValueEqual(handler.getSlotLimit(0), Integer.MAX_VALUE, "slot limit");
+        helper.assertTrue(handler.insertItem(0, batch, true).isEmpty(), "Simulated batch insert was not accepted");
+        helper.assertValueEqual(shop.getCurrencyCount(table.get(0)), 0L, "balance after simulate");
+        helper.assertTrue(handler.insertItem(0, batch, false).isEmpty(), "Batch insert was not accepted");
+        helper.assertValueEqual(shop.getCurrencyCount(table.get(0)), 1024L, "balance after insert");
+
+        ItemStack rejected = new ItemStack(Items.BEDROCK, 64);
+        helper.assertTrue(handler.insertItem(0, rejected, false) == rejected, "Non-currency stack was accepted");
+        helper.succeed();
+    }
+
+    private static void runInsertionChecks(ShopBlockEntity shop, ItemStack currency, ItemStack rejected,
+            int iterations) {
+        IItemHandler handler = shop.getItemHandler(Direction.UP);
+        for (int i = 0; i < iterations; i++) {
+            handler.insertItem(0, currency, true);
+            handler.insertItem(0, currency, false);
+            handler.insertItem(0, rejected, true);
+            handler.isItemValid(0, currency);
+            for (int slot : shop.getSlotsForFace(Direction.UP)) {
+                shop.canPlaceItemThroughFace(slot, currency, Direction.UP);
+                shop.canPlaceItemThroughFace(slot, rejected, Direction.UP);
+                shop.canPlaceItem(slot, currency);
+            }
+            shop.setItem(0, currency);
+            shop.getContainerSize();
+        }
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+    }
+}
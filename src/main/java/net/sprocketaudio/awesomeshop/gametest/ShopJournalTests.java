@@ -0,0 +1,135 @@
+package net.sprocketaudio.awesomeshop.gametest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import net.sprocketaudio.awesomeshop.content.PurchaseStatus;
+import net.sprocketaudio.awesomeshop.content.ShopBlockEntity;
+import net.sprocketaudio.awesomeshop.journal.JournalReader;
+import net.sprocketaudio.awesomeshop.journal.JournalRecord;
+import net.sprocketaudio.awesomeshop.journal.TransactionJournal;
+
+@GameTestHolder(AwesomeShop.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class ShopJournalTests {
+    private static final BlockPos SHOP_POS = new BlockPos(2, 1, 2);
+    private static final int BATCHES = 3;
+    // Any drained batch reaches a one-byte limit, so every batch after the first starts a new segment.
+    private static final long SEGMENT_LIMIT = 1;
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    @GameTest(template = "empty")
+    public static void recordsRoundTripAcrossSegments(GameTestHelper helper) {
+        List<ConfiguredOffer> offers = Config.getCatalog().offers();
+        helper.assertTrue(!offers.isEmpty(), "No offers are configured");
+        ConfiguredOffer offer = offers.get(0);
+
+        helper.setBlock(SHOP_POS, AwesomeShop.SHOP_BLOCK.get());
+        ShopBlockEntity shop = helper.getBlockEntity(SHOP_POS);
+        ServerPlayer player = helper.makeMockServerPlayerInLevel();
+        ServerLevel level = helper.getLevel();
+        BlockPos pos = helper.absolutePos(SHOP_POS);
+        String dimension = level.dimension().location().toString();
+
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("awesomeshop-journal");
+            List<JournalRecord> expected = new ArrayList<>();
+            long startedAt = System.currentTimeMillis();
+            try (TransactionJournal.Redirect redirect = TransactionJournal.redirect(directory, SEGMENT_LIMIT)) {
+                for (int batch = 0; batch < BATCHES; batch++) {
+                    long quantity = batch + 1;
+                    long written = TransactionJournal.writtenCount();
+                    int[] ordinals = offer.priceOrdinals();
+                    long[] amounts = offer.priceAmounts();
+                    List<JournalRecord.Price> prices = new ArrayList<>();
+                    for (int i = 0; i < ordinals.length; i++) {
+                        Item currency = offer.currencyTable().get(ordinals[i]).item();
+                        long amount = amounts[i] * quantity;
+                        shop.setItem(ordinals[i], new ItemStack(currency, (int) amount));
+                        expected.add(new JournalRecord(JournalRecord.Type.DEPOSIT, 0, level.getGameTime(),
+                                dimension, pos.getX(), pos.getY(), pos.getZ(), null, null, idOf(currency), amount,
+                                List.of()));
+                        prices.add(new JournalRecord.Price(idOf(currency), amount));
+                    }
+                    helper.assertValueEqual(shop.tryPurchase(offer, quantity, player), PurchaseStatus.SUCCESS,
+                            "purchase in batch " + batch);
+                    expected.add(new JournalRecord(JournalRecord.Type.PURCHASE, 0, level.getGameTime(), dimension,
+                            pos.getX(), pos.getY(), pos.getZ(), player.getUUID(), player.getGameProfile().getName(),
+                            idOf(offer.item().getItem()), offer.item().getCount() * quantity, prices));
+                    awaitWritten(helper, written + ordinals.length + 1, batch);
+                }
+            }
+            long finishedAt = System.currentTimeMillis();
+
+            List<Path> segments = JournalReader.segments(directory);
+            helper.assertValueEqual(segments.size(), BATCHES, "segment count");
+            List<JournalRecord> actual = new ArrayList<>();
+            for (Path segment : segments) {
+                JournalReader.read(segment, actual::add);
+            }
+            helper.assertValueEqual(actual.size(), expected.size(), "record count");
+            for (int i = 0; i < expected.size(); i++) {
+                JournalRecord record = actual.get(i);
+                helper.assertTrue(record.timestamp() >= startedAt && record.timestamp() <= finishedAt,
+                        "Record " + i + " has timestamp " + record.timestamp() + " outside the test");
+                JournalRecord want = expected.get(i);
+                helper.assertValueEqual(record, new JournalRecord(want.type(), record.timestamp(), want.gameTime(),
+                        want.dimension(), want.x(), want.y(), want.z(), want.player(), want.playerName(),
+                        want.item(), want.count(), want.prices()), "record " + i);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            deleteQuietly(directory);
+        }
+        helper.succeed();
+    }
+
+    // Waits for the writer thread to drain a batch, so the next batch lands in a segment of its own.
+    private static void awaitWritten(GameTestHelper helper, long target, int batch) {
+        long deadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+        while (TransactionJournal.writtenCount() < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        helper.assertTrue(TransactionJournal.writtenCount() >= target, "Batch " + batch + " was never written");
+    }
+
+    private static String idOf(Item item) {
+        return BuiltInRegistries.ITEM.getKey(item).toString();
+    }
+
+    private static void deleteQuietly(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException ex) {
+            AwesomeShop.LOGGER.warn("Failed to delete journal test directory {}", directory, ex);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package net.sprocketaudio.awesomeshop.gametest;
+
+import java.util.List;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.HolderLookup;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.item.ItemEntity;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.GameRules;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.neoforge.event.level.ChunkDataEvent;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import net.neoforged.neoforge.items.IItemHandler;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+import net.sprocketaudio.awesomeshop.content.ShopBlockEntity;
+import net.sprocketaudio.awesomeshop.content.ShopLedgerContents;
+
+@GameTestHolder(AwesomeShop.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class ShopLedgerTests {
+    private static final BlockPos SHOP_POS = new BlockPos(2, 1, 2);
+    private static final BlockPos COPY_POS = new BlockPos(4, 1, 2);
+
+    @GameTest(template = "empty")
+    public static void ledgerRoundTripsThroughPalette(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+        HolderLookup.Provider registries = helper.getLevel().registryAccess();
+
+        ShopBlockEntity shop = placeShop(helper, SHOP_POS);
+        for (int slot = 0; slot < table.size(); slot++) {
+            shop.setItem(slot, new ItemStack(table.get(slot).item(), slot + 3));
+        }
+        CompoundTag portable = shop.saveWithoutMetadata(registries);
+        helper.assertTrue(portable.contains("Currencies", Tag.TAG_LIST), "Copy outside a chunk was not id-keyed");
+        helper.assertFalse(portable.contains("Ledger"), "Copy outside a chunk refers to the palette");
+        CompoundTag saved = saveInChunk(helper, shop, SHOP_POS);
+        helper.assertTrue(saved.contains("Ledger", Tag.TAG_LONG_ARRAY), "Ledger was not written as a long array");
+        helper.assertFalse(saved.contains("Currencies"), "Id-keyed list was written alongside the ledger");
+
+        ShopBlockEntity copy = placeShop(helper, COPY_POS);
+        copy.loadWithComponents(saved, registries);
+        CompoundTag resaved = saveInChunk(helper, copy, COPY_POS);
+        helper.assertValueEqual(resaved.get("Ledger"), saved.get("Ledger"), "untouched compact ledger");
+        helper.assertFalse(resaved.contains("Currencies"), "Untouched compact ledger was expanded");
+        for (int slot = 0; slot < table.size(); slot++) {
+            helper.assertValueEqual(copy.getCurrencyCount(table.get(slot)), (long) slot + 3,
+                    "balance of " + table.get(slot).id());
+        }
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void legacyFormatsStillLoad(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+        HolderLookup.Provider registries = helper.getLevel().registryAccess();
+        ShopBlockEntity shop = placeShop(helper, SHOP_POS);
+
+        CompoundTag entry = new CompoundTag();
+        entry.putString("Id", table.get(0).id().toString());
+        entry.putLong("Count", 42L);
+        ListTag list = new ListTag();
+        list.add(entry);
+        CompoundTag listFormat = new CompoundTag();
+        listFormat.put("Currencies", list);
+        shop.loadWithComponents(listFormat, registries);
+        helper.assertValueEqual(shop.getCurrencyCount(table.get(0)), 42L, "balance from the Currencies list");
+
+        CompoundTag countFormat = new CompoundTag();
+        countFormat.putLong("Count", 17L);
+        shop.loadWithComponents(countFormat, registries);
+        helper.assertValueEqual(shop.getCurrencyCount(table.get(0)), 17L, "balance from the single Count");
+
+        helper.assertTrue(saveInChunk(helper, shop, SHOP_POS).contains("Ledger", Tag.TAG_LONG_ARRAY),
+                "Legacy data was not rewritten in the compact format");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void untouchedShopSavesTagsAsLoaded(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+        HolderLookup.Provider registries = helper.getLevel().registryAccess();
+
+        CompoundTag entry = new CompoundTag();
+        entry.putString("Id", table.get(0).id().toString());
+        entry.putLong("Count", 9L);
+        ListTag list = new ListTag();
+        list.add(entry);
+        CompoundTag loaded = new CompoundTag();
+        loaded.put("Currencies", list);
+
+        ShopBlockEntity shop = placeShop(helper, SHOP_POS);
+        shop.loadWithComponents(loaded, registries);
+        CompoundTag saved = shop.saveWithoutMetadata(registries);
+        helper.assertValueEqual(saved.get("Currencies"), list, "re-saved Currencies list");
+        helper.assertFalse(saved.contains("Ledger"), "Untouched shop was re-encoded");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void removedShopDropsOneVault(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+        ShopBlockEntity shop = placeShop(helper, SHOP_POS);
+        IItemHandler handler = shop.getItemHandler(Direction.UP);
+        for (int i = 0; i < 100; i++) {
+            handler.insertItem(0, new ItemStack(table.get(0).item(), 100_000), false);
+        }
+
+        helper.destroyBlock(SHOP_POS);
+        List<ItemEntity> drops = helper.getLevel().getEntitiesOfClass(ItemEntity.class,
+                new AABB(helper.absolutePos(SHOP_POS)).inflate(3));
+        helper.assertTrue(drops.size() <= 2, "Removing the shop spawned " + drops.size() + " item entities");
+        ItemStack vault = drops.stream()
+                .map(ItemEntity::getItem)
+                .filter(stack -> stack.is(AwesomeShop.CURRENCY_VAULT.get()))
+                .findFirst()
+                .orElse(ItemStack.EMPTY);
+        ShopLedgerContents contents = vault.get(AwesomeShop.SHOP_LEDGER.get());
+        helper.assertTrue(contents != null, "No currency vault was dropped");
+        helper.assertValueEqual(contents.balances().get(table.get(0).id()), 10_000_000L, "vault balance");
+
+        ItemStack shopItem = new ItemStack(AwesomeShop.SHOP_BLOCK_ITEM.get());
+        shopItem.set(AwesomeShop.SHOP_LEDGER.get(), contents);
+        ShopBlockEntity restored = placeShop(helper, COPY_POS);
+        restored.applyComponentsFromItemStack(shopItem);
+        helper.assertValueEqual(restored.getCurrencyCount(table.get(0)), 10_000_000L, "restored balance");
+        helper.succeed();
+    }
+
+    @GameTest(template = "empty")
+    public static void harvestWithoutTileDropsStillDropsVault(GameTestHelper helper) {
+        CurrencyTable table = Config.getCatalog().currencyTable();
+        helper.assertTrue(table.size() > 0, "No currencies are configured");
+        ShopBlockEntity shop = placeShop(helper, SHOP_POS);
+        shop.getItemHandler(Direction.UP).insertItem(0, new ItemStack(table.get(0).item(), 64), false);
+
+        GameRules.BooleanValue tileDrops = helper.getLevel().getGameRules().getRule(GameRules.RULE_DOBLOCKDROPS);
+        boolean previous = tileDrops.get();
+        tileDrops.set(false, helper.getLevel().getServer());
+        try {
+            ServerPlayer player = helper.makeMockServerPlayerInLevel();
+            player.setGameMode(GameType.SURVIVAL);
+            player.setItemInHand(InteractionHand.MAIN_HAND, new ItemStack(Items.DIAMOND_PICKAXE));
+            player.gameMode.destroyBlock(helper.absolutePos(SHOP_POS));
+        } finally {
+            tileDrops.set(previous, helper.getLevel().getServer());
+        }
+
+        List<ItemEntity> drops = helper.getLevel().getEntitiesOfClass(ItemEntity.class,
+                new AABB(helper.absolutePos(SHOP_POS)).inflate(3));
+        ShopLedgerContents contents = drops.stream()
+                .map(ItemEntity::getItem)
+                .filter(stack -> stack.is(AwesomeShop.CURRENCY_VAULT.get()))
+                .map(stack -> stack.get(AwesomeShop.SHOP_LEDGER.get()))
+                .findFirst()
+                .orElse(null);
+        helper.assertTrue(contents != null, "Harvesting with doTileDrops off lost the balance");
+        helper.assertValueEqual(contents.balances().get(table.get(0).id()), 64L, "vault balance");
+        helper.succeed();
+    }
+
+    // Runs the shop through the same chunk save hook the server uses and returns its entry in the chunk tag. Saved
+    // data goes first, as in a level save, so the palette is on disk before any chunk refers to it.
+    private static CompoundTag saveInChunk(GameTestHelper helper, ShopBlockEntity shop, BlockPos pos) {
+        helper.getLevel().getServer().overworld().getDataStorage().save();
+        ListTag entities = new ListTag();
+        entities.add(shop.saveWithFullMetadata(helper.getLevel().registryAccess()));
+        CompoundTag chunkTag = new CompoundTag();
+        chunkTag.put("block_entities", entities);
+        ShopBlockEntity.onChunkSave(new ChunkDataEvent.Save(helper.getLevel().getChunkAt(helper.absolutePos(pos)),
+                helper.getLevel(), chunkTag));
+        return entities.getCompound(0);
+    }
+
+    private static ShopBlockEntity placeShop(GameTestHelper helper, BlockPos pos) {
+        helper.setBlock(pos, AwesomeShop.SHOP_BLOCK.get());
+        return helper.getBlockEntity(pos);
+    }
+}
@@ -0,0 +1,137 @@
+package net.sprocketaudio.awesomeshop.gametest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.Container;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.GameType;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.DispenserBlock;
+import net.minecraft.world.level.block.HopperBlock;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import net.sprocketaudio.awesomeshop.content.ShopBlockEntity;
+import net.sprocketaudio.awesomeshop.content.ShopProfiler;
+
+// Arenas of hopper- and dropper-fed shops with scripted purchases, timed with ShopProfiler. Each size runs in its own
+// batch so no other test's shops are on the clock. The budget is nanoseconds of shop code per shop per tick, read
+// from the awesomeshop.loadtest.budgetNanosPerShop system property; the 95th percentile tick may use twice that.
+@GameTestHolder(AwesomeShop.MOD_ID)
+@PrefixGameTestTemplate(false)
+public class ShopLoadTests {
+    private static final String BUDGET_PROPERTY = "awesomeshop.loadtest.budgetNanosPerShop";
+    private static final long DEFAULT_BUDGET_NANOS_PER_SHOP = 1500;
+    private static final int WARMUP_TICKS = 40;
+    private static final int MEASURED_TICKS = 200;
+    private static final int DROPPER_PULSE_INTERVAL = 4;
+    private static final int PURCHASES_PER_TICK_DIVISOR = 10;
+
+    @GameTest(template = "load_small", batch = "shop_load_100", timeoutTicks = 400)
+    public static void hundredShops(GameTestHelper helper) {
+        runArena(helper, 100);
+    }
+
+    @GameTest(template = "load_large", batch = "shop_load_400", timeoutTicks = 400)
+    public static void fourHundredShops(GameTestHelper helper) {
+        runArena(helper, 400);
+    }
+
+    @GameTest(template = "load_large", batch = "shop_load_1000", timeoutTicks = 400)
+    public static void thousandShops(GameTestHelper helper) {
+        runArena(helper, 1000);
+    }
+
+    private static void runArena(GameTestHelper helper, int shopCount) {
+        CatalogSnapshot catalog = Config.getCatalog();
+        helper.assertTrue(catalog.hasOffers(), "The load test needs at least one configured offer");
+        helper.assertTrue(catalog.currencyTable().size() > 0, "The load test needs at least one currency");
+
+        List<BlockPos> shops = new ArrayList<>(shopCount);
+        List<BlockPos> droppers = new ArrayList<>();
+        int side = (int) Math.ceil(Math.sqrt(shopCount));
+        for (int i = 0; i < shopCount; i++) {
+            BlockPos shopPos = new BlockPos(1 + (i % side), 1, 1 + (i / side));
+            BlockPos feederPos = shopPos.above();
+            ItemStack currency = new ItemStack(catalog.currencyTable().get(i % catalog.currencyTable().size()).item(),
+                    64);
+            helper.setBlock(shopPos, AwesomeShop.SHOP_BLOCK.get());
+            if (i % 2 == 0) {
+                helper.setBlock(feederPos, Blocks.HOPPER.defaultBlockState().setValue(HopperBlock.FACING,
+                        Direction.DOWN));
+            } else {
+                helper.setBlock(feederPos, Blocks.DROPPER.defaultBlockState().setValue(DispenserBlock.FACING,
+                        Direction.DOWN));
+                droppers.add(feederPos);
+            }
+            fill(helper.getBlockEntity(feederPos), currency);
+            shops.add(shopPos);
+        }
+
+        Player player = helper.makeMockPlayer(GameType.SURVIVAL);
+        RandomSource random = RandomSource.create(shopCount);
+        List<ConfiguredOffer> offers = catalog.offers();
+        int purchasesPerTick = Math.max(1, shopCount / PURCHASES_PER_TICK_DIVISOR);
+        int[] tick = new int[1];
+
+        helper.onEachTick(() -> {
+            if (tick[0] % DROPPER_PULSE_INTERVAL == 0) {
+                for (BlockPos dropper : droppers) {
+                    helper.pulseRedstone(dropper.above(), 2);
+                }
+            }
+            for (int i = 0; i < purchasesPerTick; i++) {
+                ShopBlockEntity shop = helper.getBlockEntity(shops.get(random.nextInt(shops.size())));
+                shop.tryPurchase(offers.get(random.nextInt(offers.size())), 1 + random.nextInt(4), player);
+            }
+            player.getInventory().clearContent();
+            tick[0]++;
+        });
+
+        helper.runAfterDelay(WARMUP_TICKS, () -> ShopProfiler.startRecording(MEASURED_TICKS));
+        helper.runAfterDelay(WARMUP_TICKS + MEASURED_TICKS, () -> {
+            ShopProfiler.Report report = ShopProfiler.stopRecording();
+            long budget = budgetNanosPerShop() * shopCount;
+            AwesomeShop.LOGGER.info("Shop load test with {} shops over {} ticks: mean {} ns, p95 {} ns, max {} ns"
+                    + " (budget {} ns)", shopCount, report.ticks(), report.meanNanos(), report.p95Nanos(),
+                    report.maxNanos(), budget);
+
+            long deposited = 0;
+            for (BlockPos pos : shops) {
+                ShopBlockEntity shop = helper.getBlockEntity(pos);
+                for (int i = 0; i < catalog.currencyTable().size(); i++) {
+                    deposited += shop.getCurrencyCount(catalog.currencyTable().get(i));
+                }
+            }
+            helper.assertTrue(deposited > 0, "No currency reached any shop");
+            helper.assertTrue(report.ticks() > 0, "No ticks were recorded");
+            helper.assertTrue(report.meanNanos() <= budget, "Mean shop time per tick " + report.meanNanos()
+                    + " ns exceeds the budget of " + budget + " ns for " + shopCount + " shops");
+            helper.assertTrue(report.p95Nanos() <= budget * 2, "95th percentile shop time per tick "
+                    + report.p95Nanos() + " ns exceeds " + (budget * 2) + " ns for " + shopCount + " shops");
+            helper.succeed();
+        });
+    }
+
+    private static void fill(Object blockEntity, ItemStack currency) {
+        if (blockEntity instanceof Container container) {
+            for (int slot = 0; slot < container.getContainerSize(); slot++) {
+                container.setItem(slot, currency.copy());
+            }
+        }
+    }
+
+    private static long budgetNanosPerShop() {
+        return Long.getLong(BUDGET_PROPERTY, DEFAULT_BUDGET_NANOS_PER_SHOP);
+    }
+}
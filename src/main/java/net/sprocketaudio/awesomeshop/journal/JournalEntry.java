@@ -0,0 +1,37 @@
+package net.sprocketaudio.awesomeshop.journal;
+
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+
+// A reusable ring buffer slot. The server thread fills it in place and the writer thread encodes it, so recording
+// a transaction never allocates.
+final class JournalEntry {
+    static final int MAX_PRICES = 8;
+
+    byte type;
+    long timestamp;
+    long gameTime;
+    ResourceKey<Level> dimension;
+    int x;
+    int y;
+    int z;
+    long playerMost;
+    long playerLeast;
+    String playerName;
+    Item item;
+    long count;
+    int priceCount;
+    final Item[] currencies = new Item[MAX_PRICES];
+    final long[] amounts = new long[MAX_PRICES];
+
+    void clearReferences() {
+        dimension = null;
+        playerName = null;
+        item = null;
+        for (int i = 0; i < priceCount; i++) {
+            currencies[i] = null;
+        }
+        priceCount = 0;
+    }
+}
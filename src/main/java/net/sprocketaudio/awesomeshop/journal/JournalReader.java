@@ -0,0 +1,113 @@
+package net.sprocketaudio.awesomeshop.journal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Offline decoder for journal segments. Run with a journal directory or individual segment files as arguments to
+// print every record, oldest segment first. A record cut short by a crash ends that segment without an error.
+public final class JournalReader {
+    private JournalReader() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: JournalReader <journal directory | segment file>...");
+            System.exit(1);
+        }
+        for (String arg : args) {
+            for (Path segment : segments(Paths.get(arg))) {
+                System.out.println("# " + segment);
+                read(segment, record -> System.out.println(record.describe()));
+            }
+        }
+    }
+
+    public static List<Path> segments(Path path) throws IOException {
+        if (!Files.isDirectory(path)) {
+            return List.of(path);
+        }
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> JournalFormat.segmentSequence(file) >= 0)
+                    .sorted(Comparator.comparingLong(JournalFormat::segmentSequence))
+                    .toList();
+        }
+    }
+
+    public static void read(Path segment, Consumer<JournalRecord> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+            if (in.readInt() != JournalFormat.MAGIC) {
+                throw new IOException(segment + " is not a shop journal segment");
+            }
+            int version = in.readUnsignedByte();
+            if (version != JournalFormat.VERSION) {
+                throw new IOException("Unsupported journal version " + version + " in " + segment);
+            }
+            JournalFormat.readVarLong(in);
+            JournalFormat.readVarLong(in);
+
+            List<String> palette = new ArrayList<>();
+            while (true) {
+                int tag = in.read();
+                if (tag < 0) {
+                    return;
+                }
+                try {
+                    switch (tag) {
+                        case JournalFormat.PALETTE_ENTRY -> palette.add(in.readUTF());
+                        case JournalFormat.PURCHASE, JournalFormat.DEPOSIT -> consumer.accept(readRecord(in,
+                                tag == JournalFormat.PURCHASE, palette));
+                        default -> throw new IOException("Unknown record tag " + tag + " in " + segment);
+                    }
+                } catch (EOFException ex) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static JournalRecord readRecord(DataInputStream in, boolean purchase, List<String> palette)
+            throws IOException {
+        long timestamp = JournalFormat.readVarLong(in);
+        long gameTime = JournalFormat.readVarLong(in);
+        String dimension = lookup(palette, JournalFormat.readVarInt(in));
+        int x = JournalFormat.readSignedVarInt(in);
+        int y = JournalFormat.readSignedVarInt(in);
+        int z = JournalFormat.readSignedVarInt(in);
+        UUID player = null;
+        String playerName = null;
+        if (purchase) {
+            player = new UUID(in.readLong(), in.readLong());
+            playerName = lookup(palette, JournalFormat.readVarInt(in));
+        }
+        String item = lookup(palette, JournalFormat.readVarInt(in));
+        long count = JournalFormat.readVarLong(in);
+        List<JournalRecord.Price> prices = new ArrayList<>();
+        if (purchase) {
+            int priceCount = JournalFormat.readVarInt(in);
+            for (int i = 0; i < priceCount; i++) {
+                prices.add(new JournalRecord.Price(lookup(palette, JournalFormat.readVarInt(in)),
+                        JournalFormat.readVarLong(in)));
+            }
+        }
+        return new JournalRecord(purchase ? JournalRecord.Type.PURCHASE : JournalRecord.Type.DEPOSIT, timestamp,
+                gameTime, dimension, x, y, z, player, playerName, item, count, prices);
+    }
+
+    private static String lookup(List<String> palette, int index) throws IOException {
+        if (index < 0 || index >= palette.size()) {
+            throw new IOException("Palette index " + index + " is out of range");
+        }
+        return palette.get(index);
+    }
+}
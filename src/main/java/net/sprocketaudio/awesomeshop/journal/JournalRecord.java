@@ -0,0 +1,37 @@
+package net.sprocketaudio.awesomeshop.journal;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+
+// A decoded journal record. Deliberately free of game classes so segments can be inspected without a server.
+public record JournalRecord(Type type, long timestamp, long gameTime, String dimension, int x, int y, int z,
+        @Nullable UUID player, @Nullable String playerName, String item, long count, List<Price> prices) {
+
+    public enum Type {
+        PURCHASE,
+        DEPOSIT
+    }
+
+    public record Price(String currency, long amount) {
+    }
+
+    public String describe() {
+        StringBuilder line = new StringBuilder()
+                .append(Instant.ofEpochMilli(timestamp)).append(' ')
+                .append(type).append(' ')
+                .append(dimension).append(" [").append(x).append(", ").append(y).append(", ").append(z).append("] ");
+        if (type == Type.PURCHASE) {
+            line.append(playerName).append(" (").append(player).append(") bought ").append(count).append(' ')
+                    .append(item).append(" for ")
+                    .append(prices.stream().map(price -> price.amount() + " " + price.currency())
+                            .collect(Collectors.joining(", ")));
+        } else {
+            line.append("deposited ").append(count).append(' ').append(item);
+        }
+        return line.append(" @ tick ").append(gameTime).toString();
+    }
+}
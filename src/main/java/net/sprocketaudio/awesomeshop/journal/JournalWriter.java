@@ -0,0 +1,227 @@
+package net.sprocketaudio.awesomeshop.journal;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.item.Item;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// Owns the single-producer, single-consumer ring and the thread that drains it into segment files. Only the server
+// thread calls claim/publish; only the writer thread calls the drain side.
+final class JournalWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final long segmentLimit;
+    private final JournalEntry[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private final Thread thread;
+    private final Object2IntOpenHashMap<Object> palette = new Object2IntOpenHashMap<>();
+    private final int[] currencyIndices = new int[JournalEntry.MAX_PRICES];
+    private volatile boolean running = true;
+    private volatile boolean failed;
+    private volatile long writtenCount;
+    private long nextSequence;
+    private DataOutputStream out;
+
+    private JournalWriter(Path directory, int capacity, long segmentLimit, long nextSequence) {
+        this.directory = directory;
+        this.segmentLimit = segmentLimit;
+        this.nextSequence = nextSequence;
+        this.slots = new JournalEntry[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new JournalEntry();
+        }
+        this.mask = capacity - 1;
+        this.palette.defaultReturnValue(-1);
+        this.thread = new Thread(this::run, "AwesomeShop Journal Writer");
+        this.thread.setDaemon(true);
+    }
+
+    static JournalWriter open(Path directory, int capacity, long segmentLimit) throws IOException {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Journal capacity must be a power of two: " + capacity);
+        }
+        Files.createDirectories(directory);
+        long latest;
+        try (Stream<Path> files = Files.list(directory)) {
+            latest = files.mapToLong(JournalFormat::segmentSequence).max().orElse(0L);
+        }
+        return new JournalWriter(directory, capacity, segmentLimit, Math.max(0L, latest) + 1);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    // Returns null when the ring is full or the writer thread has died; the caller drops the record.
+    JournalEntry claim() {
+        if (failed) {
+            return null;
+        }
+        long position = head.get();
+        if (position - tail.get() >= slots.length) {
+            return null;
+        }
+        return slots[(int) (position & mask)];
+    }
+
+    void publish() {
+        head.lazySet(head.get() + 1);
+    }
+
+    long writtenCount() {
+        return writtenCount;
+    }
+
+    // Records published but not written yet. Once the writer has failed these will never be written.
+    long pendingCount() {
+        return head.get() - tail.get();
+    }
+
+    boolean hasFailed() {
+        return failed;
+    }
+
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                int drained = drain();
+                if (drained > 0) {
+                    out.flush();
+                    if (out.size() >= segmentLimit) {
+                        closeSegment();
+                    }
+                } else if (!running) {
+                    break;
+                } else {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } catch (IOException ex) {
+            failed = true;
+            AwesomeShop.LOGGER.error("Shop transaction journal in {} stopped writing", directory, ex);
+        } finally {
+            try {
+                closeSegment();
+            } catch (IOException ex) {
+                AwesomeShop.LOGGER.error("Failed to close shop transaction journal segment", ex);
+            }
+        }
+    }
+
+    private int drain() throws IOException {
+        long position = tail.get();
+        long available = head.get() - position;
+        if (available <= 0) {
+            return 0;
+        }
+        if (out == null) {
+            openSegment();
+        }
+        for (long i = 0; i < available; i++) {
+            JournalEntry entry = slots[(int) ((position + i) & mask)];
+            write(entry);
+            entry.clearReferences();
+            tail.lazySet(position + i + 1);
+        }
+        writtenCount += available;
+        return (int) available;
+    }
+
+    private void write(JournalEntry entry) throws IOException {
+        int dimension = paletteIndex(entry.dimension);
+        int item = paletteIndex(entry.item);
+        int playerName = entry.type == JournalFormat.PURCHASE ? paletteIndex(entry.playerName) : -1;
+        for (int i = 0; i < entry.priceCount; i++) {
+            currencyIndices[i] = paletteIndex(entry.currencies[i]);
+        }
+
+        out.writeByte(entry.type);
+        JournalFormat.writeVarLong(out, entry.timestamp);
+        JournalFormat.writeVarLong(out, entry.gameTime);
+        JournalFormat.writeVarInt(out, dimension);
+        JournalFormat.writeSignedVarInt(out, entry.x);
+        JournalFormat.writeSignedVarInt(out, entry.y);
+        JournalFormat.writeSignedVarInt(out, entry.z);
+        if (entry.type == JournalFormat.PURCHASE) {
+            out.writeLong(entry.playerMost);
+            out.writeLong(entry.playerLeast);
+            JournalFormat.writeVarInt(out, playerName);
+        }
+        JournalFormat.writeVarInt(out, item);
+        JournalFormat.writeVarLong(out, entry.count);
+        if (entry.type == JournalFormat.PURCHASE) {
+            JournalFormat.writeVarInt(out, entry.priceCount);
+            for (int i = 0; i < entry.priceCount; i++) {
+                JournalFormat.writeVarInt(out, currencyIndices[i]);
+                JournalFormat.writeVarLong(out, entry.amounts[i]);
+            }
+        }
+    }
+
+    private int paletteIndex(Object value) throws IOException {
+        int index = palette.getInt(value);
+        if (index >= 0) {
+            return index;
+        }
+        index = palette.size();
+        palette.put(value, index);
+        out.writeByte(JournalFormat.PALETTE_ENTRY);
+        out.writeUTF(describe(value));
+        return index;
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Item item) {
+            return BuiltInRegistries.ITEM.getKey(item).toString();
+        }
+        if (value instanceof ResourceKey<?> key) {
+            return key.location().toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private void openSegment() throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(nextSequence));
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE), BUFFER_SIZE));
+        out.writeInt(JournalFormat.MAGIC);
+        out.writeByte(JournalFormat.VERSION);
+        JournalFormat.writeVarLong(out, nextSequence);
+        JournalFormat.writeVarLong(out, System.currentTimeMillis());
+        nextSequence++;
+        palette.clear();
+    }
+
+    private void closeSegment() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package net.sprocketaudio.awesomeshop.journal;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.storage.LevelResource;
+import net.neoforged.neoforge.event.server.ServerStartedEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.Config;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import org.jetbrains.annotations.Nullable;
+
+// Append-only audit log of purchases and currency deposits, kept per world under awesomeshop/journal. The server
+// thread only copies fields into a preallocated ring slot; encoding, palettes and file IO happen on the writer
+// thread. When the writer falls behind far enough to fill the ring, records are dropped and counted rather than
+// stalling the tick. If the writer thread dies on an IO error the journal stays off, counting every record it
+// loses as dropped, until the server restarts.
+public final class TransactionJournal {
+    private static final int RING_CAPACITY = 1 << 14;
+
+    private static volatile JournalWriter active;
+    private static boolean failed;
+    private static long droppedCount;
+    private static long writtenBefore;
+
+    private TransactionJournal() {
+    }
+
+    public static void onServerStarted(ServerStartedEvent event) {
+        if (!Config.JOURNAL_ENABLED.get()) {
+            return;
+        }
+        Path directory = event.getServer().getWorldPath(LevelResource.ROOT).resolve(AwesomeShop.MOD_ID)
+                .resolve("journal");
+        try {
+            JournalWriter writer = JournalWriter.open(directory, RING_CAPACITY,
+                    Config.JOURNAL_SEGMENT_SIZE_KB.get() * 1024L);
+            writer.start();
+            active = writer;
+            failed = false;
+        } catch (IOException ex) {
+            AwesomeShop.LOGGER.error("Failed to open shop transaction journal in {}", directory, ex);
+            failed = true;
+        }
+    }
+
+    public static void onServerStopped(ServerStoppedEvent event) {
+        JournalWriter writer = active;
+        active = null;
+        failed = false;
+        if (writer != null) {
+            writer.close();
+            writtenBefore += writer.writtenCount();
+            if (writer.hasFailed()) {
+                droppedCount += writer.pendingCount();
+            }
+        }
+    }
+
+    // Sends records to a fresh writer in the given directory until the returned handle is closed, which flushes
+    // that writer and restores the previous one. Lets the GameTests read back exactly the segments they wrote.
+    public static Redirect redirect(Path directory, long segmentLimit) throws IOException {
+        JournalWriter writer = JournalWriter.open(directory, RING_CAPACITY, segmentLimit);
+        writer.start();
+        JournalWriter previous = active;
+        boolean previousFailed = failed;
+        active = writer;
+        failed = false;
+        return () -> {
+            active = previous;
+            failed = previousFailed;
+            writer.close();
+        };
+    }
+
+    public static void recordPurchase(Level level, BlockPos pos, Player player, ConfiguredOffer offer,
+            long quantity) {
+        JournalWriter writer = writer();
+        if (writer == null) {
+            return;
+        }
+        JournalEntry entry = writer.claim();
+        if (entry == null) {
+            droppedCount++;
+            return;
+        }
+        fillLocation(entry, JournalFormat.PURCHASE, level, pos);
+        UUID uuid = player.getUUID();
+        entry.playerMost = uuid.getMostSignificantBits();
+        entry.playerLeast = uuid.getLeastSignificantBits();
+        entry.playerName = player.getGameProfile().getName();
+        entry.item = offer.item().getItem();
+        entry.count = offer.item().getCount() * quantity;
+        int[] ordinals = offer.priceOrdinals();
+        long[] amounts = offer.priceAmounts();
+        int priceCount = Math.min(ordinals.length, JournalEntry.MAX_PRICES);
+        for (int i = 0; i < priceCount; i++) {
+            entry.currencies[i] = offer.currencyTable().get(ordinals[i]).item();
+            entry.amounts[i] = amounts[i] * quantity;
+        }
+        entry.priceCount = priceCount;
+        writer.publish();
+    }
+
+    public static void recordDeposit(Level level, BlockPos pos, Item currency, long amount) {
+        JournalWriter writer = writer();
+        if (writer == null) {
+            return;
+        }
+        JournalEntry entry = writer.claim();
+        if (entry == null) {
+            droppedCount++;
+            return;
+        }
+        fillLocation(entry, JournalFormat.DEPOSIT, level, pos);
+        entry.item = currency;
+        entry.count = amount;
+        entry.priceCount = 0;
+        writer.publish();
+    }
+
+    // The live writer, or null when the journal is off. Retires a writer whose thread has died, counting what it
+    // never wrote as dropped, and counts the record being offered as dropped while the journal is failed.
+    @Nullable
+    private static JournalWriter writer() {
+        JournalWriter writer = active;
+        if (writer != null && writer.hasFailed()) {
+            active = null;
+            failed = true;
+            writer.close();
+            writtenBefore += writer.writtenCount();
+            droppedCount += writer.pendingCount();
+            writer = null;
+        }
+        if (writer == null && failed) {
+            droppedCount++;
+        }
+        return writer;
+    }
+
+    private static void fillLocation(JournalEntry entry, byte type, Level level, BlockPos pos) {
+        entry.type = type;
+        entry.timestamp = System.currentTimeMillis();
+        entry.gameTime = level.getGameTime();
+        entry.dimension = level.dimension();
+        entry.x = pos.getX();
+        entry.y = pos.getY();
+        entry.z = pos.getZ();
+    }
+
+    public static long writtenCount() {
+        JournalWriter writer = active;
+        return writtenBefore + (writer == null ? 0 : writer.writtenCount());
+    }
+
+    public static long droppedCount() {
+        return droppedCount;
+    }
+
+    public static Component status() {
+        JournalWriter writer = active;
+        if (failed || (writer != null && writer.hasFailed())) {
+            return Component.translatable("commands.awesomeshop.stats.journal.failed").withStyle(ChatFormatting.RED);
+        }
+        return Component.translatable(writer != null ? "commands.awesomeshop.stats.journal.active"
+                : "commands.awesomeshop.stats.journal.disabled");
+    }
+
+    public interface Redirect extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,44 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// Balances of the currencies that changed since the last sync, indexed by the menu's currency ordinals.
+public record BalanceSyncPayload(int containerId, int[] ordinals, long[] balances) implements CustomPacketPayload {
+    public static final Type<BalanceSyncPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "balance_sync"));
+    public static final StreamCodec<FriendlyByteBuf, BalanceSyncPayload> STREAM_CODEC = StreamCodec.ofMember(
+            BalanceSyncPayload::write, BalanceSyncPayload::read);
+
+    private void write(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(containerId);
+        buffer.writeVarInt(ordinals.length);
+        for (int i = 0; i < ordinals.length; i++) {
+            buffer.writeVarInt(ordinals[i]);
+            buffer.writeVarLong(balances[i]);
+        }
+    }
+
+    private static BalanceSyncPayload read(FriendlyByteBuf buffer) {
+        int containerId = buffer.readVarInt();
+        int count = buffer.readVarInt();
+        if (count < 0 || count > buffer.readableBytes()) {
+            throw new IllegalArgumentException("Invalid balance count " + count);
+        }
+        int[] ordinals = new int[count];
+        long[] balances = new long[count];
+        for (int i = 0; i < count; i++) {
+            ordinals[i] = buffer.readVarInt();
+            balances[i] = buffer.readVarLong();
+        }
+        return new BalanceSyncPayload(containerId, ordinals, balances);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,201 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import io.netty.buffer.Unpooled;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.network.RegistryFriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.sprocketaudio.awesomeshop.CatalogSnapshot;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredCurrency;
+import net.sprocketaudio.awesomeshop.Config.ConfiguredOffer;
+import net.sprocketaudio.awesomeshop.Config.PriceRequirement;
+import net.sprocketaudio.awesomeshop.CurrencyTable;
+
+// Binary form of a catalog snapshot as sent to clients. The hash is taken over the uncompressed encoding, so
+// identical catalogs share a hash across config reloads and server restarts.
+public final class CatalogCodec {
+    private static final AtomicReference<EncodedCatalog> LAST_ENCODED = new AtomicReference<>();
+
+    private CatalogCodec() {
+    }
+
+    public record EncodedCatalog(long version, long hash, byte[] data) {
+    }
+
+    public static EncodedCatalog encode(CatalogSnapshot catalog, RegistryAccess registryAccess) {
+        EncodedCatalog cached = LAST_ENCODED.get();
+        if (cached != null && cached.version() == catalog.version()) {
+            return cached;
+        }
+
+        RegistryFriendlyByteBuf buffer = new RegistryFriendlyByteBuf(Unpooled.buffer(), registryAccess);
+        byte[] raw;
+        try {
+            write(catalog, buffer);
+            raw = new byte[buffer.readableBytes()];
+            buffer.readBytes(raw);
+        } finally {
+            buffer.release();
+        }
+
+        EncodedCatalog encoded = new EncodedCatalog(catalog.version(), hash(raw), compress(raw));
+        LAST_ENCODED.set(encoded);
+        return encoded;
+    }
+
+    public static CatalogSnapshot decode(byte[] data, long expectedHash, long version, RegistryAccess registryAccess)
+            throws IOException {
+        byte[] raw = decompress(data);
+        if (hash(raw) != expectedHash) {
+            throw new IOException("Catalog data does not match hash " + Long.toHexString(expectedHash));
+        }
+
+        RegistryFriendlyByteBuf buffer = new RegistryFriendlyByteBuf(Unpooled.wrappedBuffer(raw), registryAccess);
+        try {
+            return read(buffer, version);
+        } catch (RuntimeException ex) {
+            throw new IOException("Malformed catalog data", ex);
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void write(CatalogSnapshot catalog, RegistryFriendlyByteBuf buffer) {
+        buffer.writeCollection(catalog.categories(), (buf, category) -> buf.writeUtf(category));
+        buffer.writeCollection(catalog.currencies(), (buf, currency) -> buf.writeResourceLocation(currency.id()));
+        buffer.writeCollection(catalog.offers(), (buf, offer) -> {
+            ItemStack.STREAM_CODEC.encode((RegistryFriendlyByteBuf) buf, offer.item());
+            ((RegistryFriendlyByteBuf) buf).writeVarInt(offer.prices().size());
+            offer.prices().forEach(price -> {
+                ((RegistryFriendlyByteBuf) buf).writeResourceLocation(price.currency().id());
+                ((RegistryFriendlyByteBuf) buf).writeVarInt(price.price());
+            });
+            ((RegistryFriendlyByteBuf) buf).writeUtf(offer.category());
+        });
+    }
+
+    private static CatalogSnapshot read(RegistryFriendlyByteBuf data, long version) {
+        List<String> categories = readCategories(data);
+        CurrencyTable currencyTable = new CurrencyTable(readCurrencies(data));
+        Map<ResourceLocation, ConfiguredCurrency> currencyLookup = buildCurrencyLookup(currencyTable.currencies());
+        List<ConfiguredOffer> offers = readOffers(data, categories, currencyLookup, currencyTable);
+        return new CatalogSnapshot(version, categories, currencyTable, offers);
+    }
+
+    private static List<String> readCategories(RegistryFriendlyByteBuf data) {
+        return data.readList(buf -> buf.readUtf());
+    }
+
+    private static List<ConfiguredCurrency> readCurrencies(RegistryFriendlyByteBuf data) {
+        return data.readList(buf -> {
+            ResourceLocation id = buf.readResourceLocation();
+            Item item = BuiltInRegistries.ITEM.getOptional(id).orElse(Items.EMERALD);
+            return new ConfiguredCurrency(id, item);
+        });
+    }
+
+    private static Map<ResourceLocation, ConfiguredCurrency> buildCurrencyLookup(List<ConfiguredCurrency> currencies) {
+        Map<ResourceLocation, ConfiguredCurrency> lookup = new HashMap<>();
+        for (ConfiguredCurrency currency : currencies) {
+            lookup.put(currency.id(), currency);
+        }
+        if (lookup.isEmpty()) {
+            ConfiguredCurrency fallback = new ConfiguredCurrency(ResourceLocation.parse("minecraft:emerald"), Items.EMERALD);
+            lookup.put(fallback.id(), fallback);
+        }
+        return lookup;
+    }
+
+    private static List<ConfiguredOffer> readOffers(RegistryFriendlyByteBuf data, List<String> categories,
+            Map<ResourceLocation, ConfiguredCurrency> currencyLookup, CurrencyTable currencyTable) {
+        return data.readList(buf -> {
+            ItemStack stack = ItemStack.STREAM_CODEC.decode((RegistryFriendlyByteBuf) buf);
+            int requirementCount = ((RegistryFriendlyByteBuf) buf).readVarInt();
+            List<PriceRequirement> prices = new ArrayList<>();
+            for (int i = 0; i < requirementCount; i++) {
+                ResourceLocation currencyId = ((RegistryFriendlyByteBuf) buf).readResourceLocation();
+                int price = ((RegistryFriendlyByteBuf) buf).readVarInt();
+                ConfiguredCurrency currency = currencyLookup.get(currencyId);
+                if (currency != null && price > 0) {
+                    prices.add(new PriceRequirement(currency, price));
+                }
+            }
+
+            if (prices.isEmpty()) {
+                ConfiguredCurrency fallback = currencyLookup.values().stream().findFirst()
+                        .orElse(new ConfiguredCurrency(ResourceLocation.parse("minecraft:emerald"), Items.EMERALD));
+                prices.add(new PriceRequirement(fallback, 1));
+            }
+
+            String category = ((RegistryFriendlyByteBuf) buf).readUtf();
+            if (!categories.contains(category) && !categories.isEmpty()) {
+                category = categories.get(0);
+            }
+
+            return new ConfiguredOffer(stack, prices, category, currencyTable);
+        });
+    }
+
+    private static long hash(byte[] raw) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(raw);
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] compress(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] data) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+            byte[] chunk = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(chunk);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated catalog data");
+                }
+                out.write(chunk, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt catalog data", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// Full compressed catalog, only sent in answer to a CatalogRequestPayload.
+public record CatalogPayload(int containerId, long version, long hash, byte[] data) implements CustomPacketPayload {
+    public static final Type<CatalogPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "catalog"));
+    public static final StreamCodec<ByteBuf, CatalogPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, CatalogPayload::containerId,
+            ByteBufCodecs.VAR_LONG, CatalogPayload::version,
+            ByteBufCodecs.LONG, CatalogPayload::hash,
+            ByteBufCodecs.BYTE_ARRAY, CatalogPayload::data,
+            CatalogPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,23 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// Sent by a client that opened a shop whose catalog hash is not in its cache.
+public record CatalogRequestPayload(int containerId, long hash) implements CustomPacketPayload {
+    public static final Type<CatalogRequestPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "catalog_request"));
+    public static final StreamCodec<ByteBuf, CatalogRequestPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, CatalogRequestPayload::containerId,
+            ByteBufCodecs.LONG, CatalogRequestPayload::hash,
+            CatalogRequestPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
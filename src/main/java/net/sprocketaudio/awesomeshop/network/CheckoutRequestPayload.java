@@ -0,0 +1,50 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.content.ShopMenu;
+
+// A whole cart of offer/quantity lines, bought or rejected as one unit.
+public record CheckoutRequestPayload(int containerId, long catalogVersion, int[] offerIndices, long[] quantities,
+        int requestId) implements CustomPacketPayload {
+    public static final Type<CheckoutRequestPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "checkout_request"));
+    public static final StreamCodec<FriendlyByteBuf, CheckoutRequestPayload> STREAM_CODEC = StreamCodec.ofMember(
+            CheckoutRequestPayload::write, CheckoutRequestPayload::read);
+
+    private void write(FriendlyByteBuf buffer) {
+        buffer.writeVarInt(containerId);
+        buffer.writeVarLong(catalogVersion);
+        buffer.writeVarInt(offerIndices.length);
+        for (int i = 0; i < offerIndices.length; i++) {
+            buffer.writeVarInt(offerIndices[i]);
+            buffer.writeVarLong(quantities[i]);
+        }
+        buffer.writeVarInt(requestId);
+    }
+
+    private static CheckoutRequestPayload read(FriendlyByteBuf buffer) {
+        int containerId = buffer.readVarInt();
+        long catalogVersion = buffer.readVarLong();
+        int count = buffer.readVarInt();
+        if (count < 0 || count > ShopMenu.MAX_CART_LINES) {
+            throw new IllegalArgumentException("Invalid cart size " + count);
+        }
+        int[] offerIndices = new int[count];
+        long[] quantities = new long[count];
+        for (int i = 0; i < count; i++) {
+            offerIndices[i] = buffer.readVarInt();
+            quantities[i] = buffer.readVarLong();
+        }
+        int requestId = buffer.readVarInt();
+        return new CheckoutRequestPayload(containerId, catalogVersion, offerIndices, quantities, requestId);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,27 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+
+// The catalog version lets the server reject purchases made against offers that have since been reloaded.
+public record PurchaseRequestPayload(int containerId, int offerIndex, long catalogVersion, long quantity,
+        int requestId) implements CustomPacketPayload {
+    public static final Type<PurchaseRequestPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "purchase_request"));
+    public static final StreamCodec<ByteBuf, PurchaseRequestPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, PurchaseRequestPayload::containerId,
+            ByteBufCodecs.VAR_INT, PurchaseRequestPayload::offerIndex,
+            ByteBufCodecs.VAR_LONG, PurchaseRequestPayload::catalogVersion,
+            ByteBufCodecs.VAR_LONG, PurchaseRequestPayload::quantity,
+            ByteBufCodecs.VAR_INT, PurchaseRequestPayload::requestId,
+            PurchaseRequestPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
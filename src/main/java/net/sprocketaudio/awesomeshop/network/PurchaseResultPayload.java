@@ -0,0 +1,27 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.neoforged.neoforge.network.codec.NeoForgeStreamCodecs;
+import net.sprocketaudio.awesomeshop.AwesomeShop;
+import net.sprocketaudio.awesomeshop.content.PurchaseStatus;
+
+public record PurchaseResultPayload(int containerId, int requestId, PurchaseStatus status, long quantity)
+        implements CustomPacketPayload {
+    public static final Type<PurchaseResultPayload> TYPE = new Type<>(
+            ResourceLocation.fromNamespaceAndPath(AwesomeShop.MOD_ID, "purchase_result"));
+    public static final StreamCodec<FriendlyByteBuf, PurchaseResultPayload> STREAM_CODEC = StreamCodec.composite(
+            ByteBufCodecs.VAR_INT, PurchaseResultPayload::containerId,
+            ByteBufCodecs.VAR_INT, PurchaseResultPayload::requestId,
+            NeoForgeStreamCodecs.enumCodec(PurchaseStatus.class), PurchaseResultPayload::status,
+            ByteBufCodecs.VAR_LONG, PurchaseResultPayload::quantity,
+            PurchaseResultPayload::new);
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+}
@@ -0,0 +1,72 @@
+package net.sprocketaudio.awesomeshop.network;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.PacketDistributor;
+import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
+import net.neoforged.neoforge.network.handling.IPayloadContext;
+import net.neoforged.neoforge.network.registration.PayloadRegistrar;
+import net.sprocketaudio.awesomeshop.client.ClientPayloadHandler;
+import net.sprocketaudio.awesomeshop.content.PurchaseStatus;
+import net.sprocketaudio.awesomeshop.content.ShopMenu;
+
+public final class ShopNetwork {
+    private static final String PROTOCOL_VERSION = "1";
+
+    private ShopNetwork() {
+    }
+
+    public static void register(RegisterPayloadHandlersEvent event) {
+        PayloadRegistrar registrar = event.registrar(PROTOCOL_VERSION);
+        registrar.playToServer(CatalogRequestPayload.TYPE, CatalogRequestPayload.STREAM_CODEC,
+                ShopNetwork::handleCatalogRequest);
+        registrar.playToClient(CatalogPayload.TYPE, CatalogPayload.STREAM_CODEC, ClientPayloadHandler::handleCatalog);
+        registrar.playToClient(BalanceSyncPayload.TYPE, BalanceSyncPayload.STREAM_CODEC,
+                ClientPayloadHandler::handleBalanceSync);
+        registrar.playToServer(PurchaseRequestPayload.TYPE, PurchaseRequestPayload.STREAM_CODEC,
+                ShopNetwork::handlePurchaseRequest);
+        registrar.playToServer(CheckoutRequestPayload.TYPE, CheckoutRequestPayload.STREAM_CODEC,
+                ShopNetwork::handleCheckoutRequest);
+        registrar.playToClient(PurchaseResultPayload.TYPE, PurchaseResultPayload.STREAM_CODEC,
+                ClientPayloadHandler::handlePurchaseResult);
+    }
+
+    private static void handleCatalogRequest(CatalogRequestPayload payload, IPayloadContext context) {
+        if (context.player() instanceof ServerPlayer player && player.containerMenu instanceof ShopMenu menu
+                && menu.containerId == payload.containerId()) {
+            menu.sendCatalog(player, payload.hash());
+        }
+    }
+
+    private static void handlePurchaseRequest(PurchaseRequestPayload payload, IPayloadContext context) {
+        if (!(context.player() instanceof ServerPlayer player)) {
+            return;
+        }
+        PurchaseStatus status = PurchaseStatus.UNAVAILABLE;
+        if (player.containerMenu instanceof ShopMenu menu && menu.containerId == payload.containerId()) {
+            status = menu.handlePurchase(player, payload.offerIndex(), payload.catalogVersion(), payload.quantity());
+        }
+        sendResult(player, payload.containerId(), payload.requestId(), status, payload.quantity());
+    }
+
+    private static void handleCheckoutRequest(CheckoutRequestPayload payload, IPayloadContext context) {
+        if (!(context.player() instanceof ServerPlayer player)) {
+            return;
+        }
+        PurchaseStatus status = PurchaseStatus.UNAVAILABLE;
+        if (player.containerMenu instanceof ShopMenu menu && menu.containerId == payload.containerId()) {
+            status = menu.handleCheckout(player, payload.catalogVersion(), payload.offerIndices(),
+                    payload.quantities());
+        }
+        long total = 0;
+        for (long quantity : payload.quantities()) {
+            total += quantity;
+        }
+        sendResult(player, payload.containerId(), payload.requestId(), status, total);
+    }
+
+    private static void sendResult(ServerPlayer player, int containerId, int requestId, PurchaseStatus status,
+            long quantity) {
+        long delivered = status == PurchaseStatus.SUCCESS ? quantity : 0L;
+        PacketDistributor.sendToPlayer(player, new PurchaseResultPayload(containerId, requestId, status, delivered));
+    }
+}